@@ -31,6 +31,7 @@ public class AraxxorController extends Controller {
     private int selectedKey = -1;
 
     private int spamClicks;
+    private int zones;
 
     @Override
     public void start() {
@@ -68,7 +69,7 @@ public class AraxxorController extends Controller {
 
     @Override
     public boolean checkWalkStep(int lastX, int lastY, int nextX, int nextY) {
-        phaseProcess(nextX, nextY);
+        zones = fight.getConfig().stepTriggers(player, zones, nextX, nextY);
         return true;
     }
 
@@ -164,7 +165,7 @@ public class AraxxorController extends Controller {
 
     private boolean processObjectClickPhaseThree(WorldObject object) {
         if(object.getId() == 91670) {
-            player.setNextWorldTile(fight.getConfig().getRelativeTile(new WorldTile(4561, 6265, 1)));
+            player.setNextWorldTile(fight.getConfig().getAnchor(AraxxorEnvironment.Anchor.ACID_RAMP_EXIT));
             fight.stopSuffocate();
             return true;
         }
@@ -192,23 +193,6 @@ public class AraxxorController extends Controller {
         return true;
     }
 
-    private void phaseProcess(int nextX, int nextY) {
-        if(fight.getPhase() < 2 && fight.getConfig().getActivePath() == AraxxorEnvironment.Paths.LIGHT &&
-                nextX > fight.getConfig().relativeX(4515) && nextY < fight.getConfig().relativeY(6262))
-            fight.nextPhase();
-        else if(fight.getPhase() < 2 && fight.getConfig().getActivePath() == AraxxorEnvironment.Paths.MINIONS &&
-                player.getY() > fight.getConfig().relativeY(6270) &&
-                player.getX() > fight.getConfig().relativeX(4510))
-            fight.nextPhase();
-        else if(fight.getPhase() < 2 && fight.getConfig().getActivePath() == AraxxorEnvironment.Paths.ACID &&
-                player.getY() > fight.getConfig().relativeY(6259) && player.getY() < fight.getConfig().relativeY(6271) &&
-                player.getX() > fight.getConfig().relativeX(4519))
-            fight.nextPhase();
-        else if(fight.getPhase() < 3 && fight.getConfig().getActivePath() == AraxxorEnvironment.Paths.MINIONS &&
-                player.getX() > fight.getConfig().relativeX(4567))
-            fight.nextPhase();
-    }
-
     @Override
     public boolean processKeyPress(int key) {
         if(readKeyStroke) {
@@ -0,0 +1,60 @@
+package com.rs.game.player.content.araxxor;
+
+import com.rs.game.Animation;
+import com.rs.game.Graphics;
+
+/**
+ * The animations and graphics of the Araxxor fight, built once.<br/><br/>
+ * Their ids and parameters never change, and an {@link Animation} or {@link Graphics}
+ * is never modified once it has been set on an entity, so every attack shares the same
+ * instances rather than allocating new ones on each swing.
+ * <br/><br/>
+ * This project is primarily the work of dlo3, with contributions
+ * from Ataraxia devs Kris, Armak1ing, and CJay. It may only be distributed
+ * <b>AS-IS</b>, and <b>FREE OF CHARGE</b>, with dlo3's consent.
+ * Furthermore, this notice must remain in all distributions.
+ * @author David O'Neill (dlo3)
+ * @since 1.2
+ */
+public final class AraxxorEffects {
+
+    public static final Animation RESET_ANIMATION = new Animation(-1);
+    public static final Animation MELEE = new Animation(24094);
+    public static final Animation CAST = new Animation(24047);
+    public static final Animation CLEAVE = new Animation(24050);
+    public static final Animation COCOON = new Animation(24083);
+    public static final Animation COCOON_SQUEEZE = new Animation(24115);
+    public static final Animation WEB_HEAL = new Animation(24075);
+    public static final Animation EGG_BOMB = new Animation(24085);
+    public static final Animation CLIMB = new Animation(24056);
+    public static final Animation DESCEND = new Animation(24076);
+    public static final Animation LEAP = new Animation(24042);
+    public static final Animation CHARGE = new Animation(24103);
+    public static final Animation EMERGE = new Animation(24118);
+    public static final Animation ARAXXI_DEATH = new Animation(24106);
+    public static final Animation PLAYER_DRAGGED = new Animation(14388);
+    public static final Animation PLAYER_LAND = new Animation(19502);
+    public static final Animation PLAYER_KNOCKED_DOWN = new Animation(10070);
+
+    public static final Graphics RESET_GRAPHICS = new Graphics(-1);
+    public static final Graphics CAST_GRAPHICS = new Graphics(4988, 0, 180);
+    public static final Graphics MAGIC_IMPACT = new Graphics(4980);
+    public static final Graphics RANGE_IMPACT = new Graphics(4993);
+    public static final Graphics CLEAVE_GRAPHICS = new Graphics(4986);
+    public static final Graphics WEB_HEAL_GRAPHICS = new Graphics(4987);
+    public static final Graphics EXIT_OPENED = new Graphics(4982);
+    public static final Graphics ARAXXI_EMERGING = new Graphics(5000);
+    public static final Graphics ARAXXI_EMERGED = new Graphics(5070);
+    public static final Graphics DESCEND_GRAPHICS = new Graphics(5011);
+    public static final Graphics MINION_CHANNEL = new Graphics(5003);
+    public static final Graphics MINION_EMPOWERED = new Graphics(5004);
+    public static final Graphics MINION_DEATH = new Graphics(5006);
+    public static final Graphics SPIDER_DEATH = new Graphics(5007);
+    public static final Graphics EGG_LANDING = new Graphics(5009);
+    public static final Graphics EGG_FIZZLE = new Graphics(5008);
+    public static final Graphics EGG_BLOW_UP = new Graphics(5010);
+    public static final Graphics SLUDGE_WARNING = new Graphics(5014);
+    public static final Graphics SLUDGE_SPLASH = new Graphics(5017);
+
+    private AraxxorEffects() { }
+}
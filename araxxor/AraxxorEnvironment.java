@@ -1,14 +1,20 @@
 package com.rs.game.player.content.araxxor;
 
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 
-import com.rs.cores.CoresManager;
+import com.rs.cache.loaders.ObjectDefinitions;
 import com.rs.game.*;
+import com.rs.game.instance.ClipEdit;
+import com.rs.game.instance.HazardGrid;
+import com.rs.game.instance.InstanceChunkAllocator;
+import com.rs.game.instance.InstanceOverlay;
+import com.rs.game.instance.InstanceTask;
+import com.rs.game.instance.InstanceTransform;
+import com.rs.game.instance.TileCandidateSet;
+import com.rs.game.instance.TriggerZones;
+import com.rs.game.instance.WalkableTileIndex;
+import com.rs.game.instance.ZoneMask;
 import com.rs.game.player.Player;
-import com.rs.game.tasks.WorldTask;
-import com.rs.game.tasks.WorldTasksManager;
-import com.rs.utils.Utils;
 
 /**
  * An environment configuration object containing all instance region information and
@@ -38,8 +44,23 @@ public final class AraxxorEnvironment {
     private static final WorldTile TRUE_START_TILE = new WorldTile(4490, 6266, 1);
     private static final WorldTile TRUE_EXIT_TILE = new WorldTile(4599, 6268, 1);
 
+    /** Allocates the chunks of every Araxxor instance, through the {@link MapBuilder}. */
+    private static final InstanceChunkAllocator ALLOCATOR = new InstanceChunkAllocator(new InstanceChunkAllocator.Builder() {
+        @Override
+        public int[] findEmptyChunkBound(int width, int height) {
+            return MapBuilder.findEmptyChunkBound(width, height);
+        }
+
+        @Override
+        public void destroyMap(int chunkX, int chunkY, int width, int height) {
+            MapBuilder.destroyMap(chunkX, chunkY, width, height);
+        }
+    });
+
     private int[] boundChunks;
+    private InstanceTransform transform;
     private final Paths[] currentPaths;
+    private final Paths offPath;
 
     private WorldTile rampReference;
     private WorldTile lpWallRerence;
@@ -51,66 +72,180 @@ public final class AraxxorEnvironment {
     private WorldTile cutsceneLookThree;
     private WorldTile startTile;
     private WorldTile exitTile;
+    private final WorldTile[] anchors = new WorldTile[Anchor.values().length];
 
     private AraxxorFight fight;
 
-    private List<WorldTile> acidPool;
-    private List<WorldTile> lightTiles;
+    private ZoneMask<Zone> zones;
+    private TriggerZones triggers;
+    private boolean advancedThisStep;
+    private TileCandidateSet lightCandidates;
+    private final InstanceOverlay overlay = new InstanceOverlay();
+    private WalkableTileIndex walkable;
+    private HazardGrid hazards;
 
     private Paths activePath;
 
 
     /**
-     * Constructs a new Araxxor environment configuration object.
-     * @param fight           the {@link AraxxorFight} object bound to this environment
+     * Constructs a new, unbuilt Araxxor environment configuration object.
+     * The instance region is built by {@link AraxxorEnvironment#buildEnvironment()},
+     * normally ahead of time by the {@link AraxxorInstancePool}.
      * @param currentPaths    the available paths in this environment configuration, determined
      *                        by the current Araxxor cycle. See {@link AraxxorManager}.
+     * @param offPath         the path which is blocked off in this environment configuration
      */
-    AraxxorEnvironment(AraxxorFight fight, Paths[] currentPaths) {
-        this.fight = fight;
+    AraxxorEnvironment(Paths[] currentPaths, Paths offPath) {
         this.currentPaths = currentPaths;
-        buildEnvironment();
+        this.offPath = offPath;
     }
 
     /**
      * Constructs the initial environment layout. This process binds the map chunks corresponding
-     * to the ground-truth Araxxor cave to an instance chunks array, spawns the rotation-appropriate
-     * path entrances, and sends the players in the fight to the instanced region.
-     */
-    private void buildEnvironment() {
-
-        CoresManager.getServiceProvider().executeNow(() -> {
-            boundChunks = MapBuilder.findEmptyChunkBound(chunkDimX, chunkDimY);
-            MapBuilder.copyAllPlanesMap(southWestChunks[0],
-                    southWestChunks[1], boundChunks[0], boundChunks[1], chunkDimX, chunkDimY);
-            initAcidPool();
-            initReferenceTiles();
-            Arrays.stream(currentPaths).forEach(path -> {
-                WorldObject web = new WorldObject(path.getWebId(), 10, 0,
-                        getRelativeTile(path.getEntranceTile()));
-                WorldObject click = new WorldObject(path.getObjectId(), 10, 0,
-                        getRelativeTile(path.getEntranceClickTile()));
-                World.spawnObject(web);
-                clipTiles(getRelativeTile(path.clipRoot));
-                World.spawnObject(click);
-            });
-            Paths offPath = AraxxorManager.getOffPath();
-            WorldObject rocks = new WorldObject(offPath.getBlockedId(),
-                    10, 0, getRelativeTile(offPath.getEntranceTile()));
-            World.spawnObject(rocks);
-            clipTiles(getRelativeTile(offPath.clipRoot));
-            World.spawnObject(new WorldObject(91520, 10, 0, rampReference));
-            World.spawnObject(new WorldObject(91514, 10, 0, lpWallRerence));
-            clipTiles(lpWallRerence);
-            fight.getPlayers().forEach(player -> player.setNextWorldTile(startTile));
+     * to the ground-truth Araxxor cave to an instance chunks array, and spawns the rotation-appropriate
+     * path entrances. This is expensive, and should never be run on the game thread.
+     */
+    void buildEnvironment() {
+        boundChunks = ALLOCATOR.allocate(chunkDimX, chunkDimY);
+        MapBuilder.copyAllPlanesMap(southWestChunks[0],
+                southWestChunks[1], boundChunks[0], boundChunks[1], chunkDimX, chunkDimY);
+        transform = new InstanceTransform(southWestChunks[0], southWestChunks[1],
+                boundChunks[0], boundChunks[1], chunkDimX * 64, chunkDimY * 64);
+        initReferenceTiles();
+        initZones();
+        spawnPathObjects();
+        initWalkableIndex();
+    }
+
+    /**
+     * Indexes the walkable tiles and hazards of the fight plane. The ramp and light
+     * path wall are reserved, so no egg bomb or acid pool is ever dropped on them.
+     */
+    private void initWalkableIndex() {
+        walkable = new WalkableTileIndex(boundChunks[0] * 8, boundChunks[1] * 8,
+                chunkDimX * 8, chunkDimY * 8, 1);
+        walkable.rebuild();
+        walkable.reserve(rampReference.getX(), rampReference.getY());
+        walkable.reserve(lpWallRerence.getX(), lpWallRerence.getY());
+        lightCandidates = new TileCandidateSet(relativeX(4519), relativeY(6244), 32, 11);
+        lightCandidates.rebuild(walkable::isWalkable);
+        hazards = new HazardGrid(boundChunks[0] * 8, boundChunks[1] * 8,
+                chunkDimX * 8, chunkDimY * 8, 1);
+        hazards.set(rampReference, HazardGrid.RESERVED);
+        hazards.set(lpWallRerence, HazardGrid.RESERVED);
+    }
+
+    /**
+     * Re-reads an area of tiles after it was clipped, unclipped, or had an object
+     * spawned or removed on it, keeping the walkable index and light beam candidates in step.
+     * @param x the x coordinate of the south-west tile
+     * @param y the y coordinate of the south-west tile
+     * @param sizeX the width of the area
+     * @param sizeY the height of the area
+     */
+    private void refreshTiles(int x, int y, int sizeX, int sizeY) {
+        walkable.refresh(x, y, sizeX, sizeY);
+        lightCandidates.refresh(x, y, sizeX, sizeY, walkable::isWalkable);
+    }
+
+    /**
+     * Spawns the path entrance webs, the blocked off path rocks, the acid ramp and the light path
+     * wall, and clips the tiles they cover.
+     */
+    private void spawnPathObjects() {
+        Arrays.stream(currentPaths).forEach(path -> {
+            WorldObject web = new WorldObject(path.getWebId(), 10, 0,
+                    getRelativeTile(path.getEntranceTile()));
+            WorldObject click = new WorldObject(path.getObjectId(), 10, 0,
+                    getRelativeTile(path.getEntranceClickTile()));
+            World.spawnObject(web);
+            clipTiles(getRelativeTile(path.clipRoot));
+            World.spawnObject(click);
         });
+        WorldObject rocks = new WorldObject(offPath.getBlockedId(),
+                10, 0, getRelativeTile(offPath.getEntranceTile()));
+        World.spawnObject(rocks);
+        clipTiles(getRelativeTile(offPath.clipRoot));
+        World.spawnObject(new WorldObject(91520, 10, 0, rampReference));
+        World.spawnObject(new WorldObject(91514, 10, 0, lpWallRerence));
+        clipTiles(lpWallRerence);
+    }
+
+    /**
+     * Binds a fight to this environment, and sends the fight's players into the instance.
+     * The environment must already be built.
+     * @param fight the {@link AraxxorFight} object bound to this environment
+     */
+    void bind(AraxxorFight fight) {
+        this.fight = fight;
+        fight.getPlayers().forEach(player -> player.setNextWorldTile(startTile));
     }
 
-    /** Unbinds the instanced map chunks. */
+    /**
+     * Restores this environment to its freshly built state after a fight, so it
+     * can be handed to the next fight instead of being destroyed. The built environment
+     * is never changed directly during a fight; every object and clip edit goes through
+     * the {@link InstanceOverlay}, which puts the edited tiles back here.
+     */
+    void reset() {
+        overlay.revert();
+        walkable.rebuild();
+        lightCandidates.rebuild(walkable::isWalkable);
+        hazards.clearAll(HazardGrid.EGG | HazardGrid.LIGHT | HazardGrid.ACID);
+        activePath = null;
+        fight = null;
+    }
+
+    /**
+     * Unbinds the instanced map chunks, and returns them to the instance allocator.
+     * Does nothing if the build failed before any chunks were allocated.
+     */
     void destroyEnvironment() {
-        CoresManager.getServiceProvider().executeWithDelay(() -> MapBuilder.destroyMap(boundChunks[0],
-                boundChunks[1], chunkDimX, chunkDimY), 10000, TimeUnit.MILLISECONDS);
+        if(boundChunks == null)
+            return;
+        ALLOCATOR.free(boundChunks[0], boundChunks[1], chunkDimX, chunkDimY);
+    }
+
+    /**
+     * Spawns an object for the lifetime of the current fight. The object is removed
+     * when this environment is reset for the next fight.
+     * @param object the object to spawn
+     */
+    public void spawnObject(WorldObject object) {
+        overlay.spawnObject(object);
+        refresh(object);
+    }
+
+    /**
+     * Removes an object for the lifetime of the current fight. If the object is part of
+     * the built environment, it is respawned when this environment is reset for the next fight.
+     * @param object the object to remove
+     */
+    public void removeObject(WorldObject object) {
+        if(object == null)
+            return;
+        overlay.removeObject(object);
+        refresh(object);
+    }
+
+    /**
+     * Refreshes the walkable tiles under an object's footprint.
+     * @param object the object which was spawned or removed
+     */
+    private void refresh(WorldObject object) {
+        final ObjectDefinitions defs = object.getDefinitions();
+        final boolean turned = (object.getRotation() & 1) == 1;
+        refreshTiles(object.getX(), object.getY(),
+                turned ? defs.getSizeY() : defs.getSizeX(),
+                turned ? defs.getSizeX() : defs.getSizeY());
+    }
 
+    /**
+     * Accessor method for the path blocked off in this environment.
+     * @return the off path of this environment's rotation
+     */
+    Paths getOffPath() {
+        return offPath;
     }
 
     /**
@@ -205,6 +340,15 @@ public final class AraxxorEnvironment {
         return exitTile;
     }
 
+    /**
+     * Accessor method to the hazard grid of the fight plane, on which mechanics
+     * mark the tiles covered by eggs, light beams and acid.
+     * @return the hazard grid
+     */
+    public HazardGrid getHazards() {
+        return hazards;
+    }
+
     /**
      * Accessor method to the ramp location at the end of the acid pool.<br/><br/>
      * This field exists because the ramp normally isn't spawned.
@@ -225,52 +369,30 @@ public final class AraxxorEnvironment {
     }
 
     /**
-     * Finds a random empty, accessible 1x1 grid on which to send the egg bomb attack.
+     * Finds a random empty, accessible 2x2 grid on which to send the egg bomb attack.
      *
-     * 250 WorldTile locations are sampled in a 3 tile radius of the player, and
-     * candidate grids are extracted from the sampled points.
+     * The grid is drawn from the instance's {@link WalkableTileIndex}, which checks every
+     * grid within the radius of the player once, so this never spins on the tick thread.
      *
-     * If a 1x1 grid cannot be found, the 'grid' defaults to a single WorldTile
+     * If a 2x2 grid cannot be found, the 'grid' defaults to a single WorldTile
      * underneath Araxxor's current target's feet.
-     * @return an array of 4 WorldTile objects forming a 1x1 grid,
+     * @return an array of 4 WorldTile objects forming a 2x2 grid,
      *         or 1-length array containing the current targets location.
      */
     public WorldTile[] generateEggGrid(Player eggBombTarget, int radius) {
-
-        WorldTile[] grid = new WorldTile[4];
-
-        List<WorldTile> free = new ArrayList<>();
-        WorldTile tile;
-        while(free.size() < 100) {
-            tile = new WorldTile(eggBombTarget, radius);
-            if(verifyAllTileHashes(tile, eggBombTarget)  &&
-                    World.canMoveNPC(tile, 1))
-                free.add(tile);
-        }
-
-        Collections.shuffle(free);
-
-        grid[0] = free.get(Utils.random(free.size()));
-        grid[1] = new WorldTile(grid[0].getX(), grid[0].getY() + 1, grid[0].getPlane());
-        grid[2] = new WorldTile(grid[0].getX() - 1, grid[0].getY(), grid[0].getPlane());
-        grid[3] = new WorldTile(grid[0].getX() - 1, grid[0].getY() + 1, grid[0].getPlane());
-
-        return grid;
-    }
-
-    /**
-     * Verifies that a given WorldTile doesn't not collide with any
-     * of the important, pre-existing reference tiles in the instance.
-     * @param tile the tile to check for collisions
-     * @return a <tt>boolean</tt> indicating whether or not
-     *         there were any conflicts
-     */
-    private boolean verifyAllTileHashes(WorldTile tile, WorldTile eggBombTarget) {
-        final int hash = tile.getTileHash();
-        final boolean acidRamp = hash != rampReference.getTileHash();
-        final boolean lpWall = hash != lpWallRerence.getTileHash();
-        final boolean target = hash != eggBombTarget.getTileHash();
-        return acidRamp && lpWall && target;
+        final int origin = walkable.randomGrid(eggBombTarget.getX(), eggBombTarget.getY(),
+                radius, fight.getRandom().getSource());
+        if(origin == -1)
+            return new WorldTile[] { new WorldTile(eggBombTarget) };
+        final int x = WalkableTileIndex.unpackX(origin);
+        final int y = WalkableTileIndex.unpackY(origin);
+        final int plane = eggBombTarget.getPlane();
+        return new WorldTile[] {
+                new WorldTile(x, y, plane),
+                new WorldTile(x, y + 1, plane),
+                new WorldTile(x - 1, y, plane),
+                new WorldTile(x - 1, y + 1, plane)
+        };
     }
 
     /**
@@ -285,28 +407,20 @@ public final class AraxxorEnvironment {
                            .filter(p -> webId == p.getObjectId())
                            .findFirst().orElse(null);
         Objects.requireNonNull(activePath);
-        World.spawnObject(new WorldObject(activePath.getBurningWebId(),
+        spawnObject(new WorldObject(activePath.getBurningWebId(),
                 10, 0, fight.getConfig().getRelativeTile(activePath.getEntranceTile())));
-        WorldTasksManager.schedule(new WorldTask() {
+        fight.getScheduler().schedule(new InstanceTask() {
 
             int tick = 0;
 
-            private boolean checkShutdown() {
-                boolean shutdown = fight.shuttingDown();
-                if (shutdown) stop();
-                return shutdown;
-            }
-
             @Override
             public void run() {
-                if(checkShutdown())
-                    return;
                 if(tick == 5) {
                     fight.notifyPlayersMsgBox("The web burns down, " +
                             "allowing access!");
                     unclipTiles(getRelativeTile(activePath.clipRoot));
-                    World.removeObject(World.getObject(getRelativeTile(activePath.getEntranceTile())));
-                    World.removeObject(World.getObject(getRelativeTile(activePath.getEntranceClickTile())));
+                    removeObject(World.getObject(getRelativeTile(activePath.getEntranceTile())));
+                    removeObject(World.getObject(getRelativeTile(activePath.getEntranceClickTile())));
                     if(activePath == AraxxorEnvironment.Paths.ACID)
                         fight.getBoss().setForceTargetDistance(5);
                     stop();
@@ -323,7 +437,17 @@ public final class AraxxorEnvironment {
      * @return the equivalent WorldTile in the instanced region
      */
     public WorldTile getRelativeTile(WorldTile tile) {
-        return getRelativeTile(tile.getX(), tile.getY(), tile.getPlane());
+        return transform.tile(tile);
+    }
+
+    /**
+     * Accessor method to one of the fixed fight locations, resolved
+     * into the instanced region when the environment was built.
+     * @param anchor the location to look up
+     * @return the tile location of the anchor in the instance
+     */
+    public WorldTile getAnchor(Anchor anchor) {
+        return anchors[anchor.ordinal()];
     }
 
     /**
@@ -332,7 +456,7 @@ public final class AraxxorEnvironment {
      * @return the equivalent x-coordinate in the instance
      */
     public int relativeX(int trueX) {
-        return boundChunks[0] * 8 + ((trueX - southWestChunks[0] * 8) % (chunkDimX * 64));
+        return transform.x(trueX);
     }
 
     /**
@@ -341,57 +465,122 @@ public final class AraxxorEnvironment {
      * @return the equivalent y-coordinate in the instance
      */
     public int relativeY(int trueY) {
-        return boundChunks[1] * 8 + ((trueY - southWestChunks[1] * 8) % (chunkDimY * 64));
+        return transform.y(trueY);
     }
 
     /**
      * Checks to see if the player is standing in the light beam during the
      * light path mechanic.
      * @param player the player to check
-     * @param lightTile the tile location of the light beam
      * @return whether or not the player is standing on the beam
      */
-    boolean onLightTile(Player player, WorldTile lightTile) {
-        WorldTile trueCenter = new WorldTile(lightTile.getX() + 1, lightTile.getY() + 1, lightTile.getPlane());
-        return player.withinDistance(trueCenter, 1);
+    boolean onLightTile(Player player) {
+        return hazards.has(player, HazardGrid.LIGHT);
+    }
+
+    /**
+     * Lights or darkens the 3x3 area of tiles a light beam covers.
+     * @param lightTile the tile location of the light beam
+     * @param lit whether the beam is being spawned or removed
+     */
+    void setLightBeam(WorldTile lightTile, boolean lit) {
+        if(lit)
+            hazards.set(lightTile.getX(), lightTile.getY(), 3, 3, HazardGrid.LIGHT);
+        else
+            hazards.clear(lightTile.getX(), lightTile.getY(), 3, 3, HazardGrid.LIGHT);
     }
 
     /**
      * Generates a new tile location for the next light beam during the
-     * light path mechanic.
+     * light path mechanic. The tile is drawn from the walkable tiles of
+     * the light path area, which are kept up to date as the area is edited,
+     * so no draw is ever rejected.
      * @return a new tile location for a light beam
      */
     WorldTile generateLightTile() {
-
-        WorldTile lightTile = lightTiles.get(Utils.random(lightTiles.size()));
-        while(!World.canMoveNPC(lightTile, 1)) {
-            lightTile = lightTiles.get(Utils.random(lightTiles.size()));
-        }
-        return lightTile;
+        final int packed = lightCandidates.sample(fight.getRandom().getSource());
+        if(packed == -1)
+            return new WorldTile(relativeX(4519), relativeY(6244), 1);
+        return new WorldTile(WalkableTileIndex.unpackX(packed), WalkableTileIndex.unpackY(packed), 1);
     }
 
     /**
-     * Accessor method to acid pool verticies.<br/><br/>
-     * In order to determine whether or not Araxxor is in the acid pool,
-     * a polygon is formed which encapsulates the acid pool, and then the NPC
-     * location is passed through a ray-crossing algorithm to see if the location
-     * is within said polygon. The verticies of the polygon are contained
-     * in the <code>acidPool</code> list.
-     * @return the list of acid pool polygon verticies
+     * Checks whether or not a tile lies in one of the fight's zones.
+     * @param zone the zone to check
+     * @param tile the tile to check
+     * @return whether or not the tile is in the zone
      */
-    public List<WorldTile> getAcidPool() {
-        return acidPool;
+    public boolean inZone(Zone zone, WorldTile tile) {
+        return zones.contains(zone, tile);
     }
 
     /**
-     * Initializes the acid pool verticies.
+     * Rasterizes the fight's zones over the instance.<br/><br/>
+     * The acid pool is a polygon encapsulating the pool, filled with the same
+     * ray-crossing algorithm Araxxor's location used to be passed through
+     * every tick. The ramp spans everything east of the pool's ramp edge.
      */
-    private void initAcidPool() {
-        acidPool = new ArrayList<>();
+    private void initZones() {
+        zones = new ZoneMask<>(Zone.class, boundChunks[0] * 8, boundChunks[1] * 8,
+                chunkDimX * 8, chunkDimY * 8);
+        List<WorldTile> acidPool = new ArrayList<>();
         acidPool.add(getRelativeTile(new WorldTile(4523, 6258, 1)));
         acidPool.add(getRelativeTile(new WorldTile(4536, 6257, 1)));
         acidPool.add(getRelativeTile(new WorldTile(4537, 6272, 1)));
         acidPool.add(getRelativeTile(new WorldTile(4525, 6272, 1)));
+        zones.fillPolygon(Zone.ACID_POOL, acidPool);
+        zones.fillRectangle(Zone.RAMP, relativeX(4536), relativeY(6258),
+                boundChunks[0] * 8 + chunkDimX * 8 - 1, relativeY(6270));
+        initTriggers();
+    }
+
+    /**
+     * Registers the trigger zones which advance the fight when a player walks
+     * into them: the far side of each path's web, and the Araxxi approach at the
+     * end of the minions path.
+     */
+    private void initTriggers() {
+        final int minX = boundChunks[0] * 8, minY = boundChunks[1] * 8;
+        final int maxX = minX + chunkDimX * 8 - 1, maxY = minY + chunkDimY * 8 - 1;
+        triggers = new TriggerZones(minX, minY, chunkDimX * 8, chunkDimY * 8, 1);
+        triggers.register(relativeX(4516), minY, maxX, relativeY(6261),
+                player -> advancePhase(Paths.LIGHT, 2));
+        triggers.register(relativeX(4511), relativeY(6271), maxX, maxY,
+                player -> advancePhase(Paths.MINIONS, 2));
+        triggers.register(relativeX(4520), relativeY(6260), maxX, relativeY(6270),
+                player -> advancePhase(Paths.ACID, 2));
+        triggers.register(relativeX(4568), minY, maxX, maxY,
+                player -> advancePhase(Paths.MINIONS, 3));
+    }
+
+    /**
+     * Advances the fight to its next phase if it is taking the given path,
+     * and has not yet reached the given phase. The minions path's phase 2 and
+     * phase 3 zones overlap, so a single step can enter both; only the first
+     * trigger entered on a step advances the fight.
+     * @param path the path the trigger belongs to
+     * @param phase the phase the trigger advances the fight to
+     */
+    private void advancePhase(Paths path, int phase) {
+        if(!advancedThisStep && fight != null && activePath == path && fight.getPhase() < phase) {
+            advancedThisStep = true;
+            fight.nextPhase();
+        }
+    }
+
+    /**
+     * Steps a player through the trigger zones of the instance as they walk.
+     * @param player the player stepping
+     * @param zones the trigger zones the player stood in before the step
+     * @param x the x coordinate of the tile stepped onto
+     * @param y the y coordinate of the tile stepped onto
+     * @return the trigger zones the player stands in after the step
+     */
+    int stepTriggers(Player player, int zones, int x, int y) {
+        if(triggers == null)
+            return zones;
+        advancedThisStep = false;
+        return triggers.step(player, zones, x, y);
     }
 
     /**
@@ -406,33 +595,24 @@ public final class AraxxorEnvironment {
         cutsceneLookTwo = getRelativeTile(new WorldTile(4563, 6259, 1));
         cutsceneAnchorThree = getRelativeTile(new WorldTile(4601, 6265, 1));
         cutsceneLookThree = getRelativeTile(new WorldTile(4580, 6265, 1));
-        lightTiles = new ArrayList<>();
-        for(int i = relativeX(4519); i <= relativeX(4550); i++) {
-            for(int j = relativeY(6244); j <= relativeY(6254); j++) {
-                lightTiles.add(new WorldTile(i, j, 1));
-            }
-        }
         startTile = getRelativeTile(TRUE_START_TILE);
         exitTile = getRelativeTile(TRUE_EXIT_TILE);
+        for(Anchor anchor : Anchor.values())
+            anchors[anchor.ordinal()] = transform.tile(anchor.trueX, anchor.trueY, 1);
     }
 
     /**
      * Clips tiles in a square region spanned from the supplied
      * clipping root. This is used for inducing clippling behaviour
      * on the webs and rock walls (which for some reason aren't clippable
-     * in their definitions).
+     * in their definitions). The clip is part of the built template, so
+     * it is applied directly rather than journaled in the overlay. It is
+     * applied as part of the build, before the walkable index is built,
+     * so the index already sees it.
      * @param clipRoot the root location to begin clipping tiles from
      */
     private void clipTiles(WorldTile clipRoot) {
-        CoresManager.getServiceProvider().executeWithDelay(() -> {
-            for(int i = 0; i < 8; i++) {
-                for(int j = 0; j < 8; j++) {
-                    World.getRegion(clipRoot.getRegionId()).forceGetRegionMap().clipTile(clipRoot.getPlane(),
-                            clipRoot.getXInRegion() + i,
-                            clipRoot.getYInRegion() + j);
-                }
-            }
-        }, 1000, TimeUnit.MILLISECONDS);
+        ClipEdit.clip(clipRoot, ClipEdit.FULL);
     }
 
     /**
@@ -440,13 +620,8 @@ public final class AraxxorEnvironment {
      * @param clipRoot the root location to begin unclipping tiles from
      */
     void unclipTiles(WorldTile clipRoot) {
-        for(int i = 0; i < 8; i++) {
-            for(int j = 0; j < 8; j++) {
-                World.getRegion(clipRoot.getRegionId()).forceGetRegionMap().unclipTile(clipRoot.getPlane(),
-                        clipRoot.getXInRegion() + i,
-                        clipRoot.getYInRegion() + j);
-            }
-        }
+        overlay.unclip(clipRoot, ClipEdit.FULL);
+        refreshTiles(clipRoot.getX(), clipRoot.getY(), 8, 8);
     }
 
     /**
@@ -454,25 +629,42 @@ public final class AraxxorEnvironment {
      * @param tiles the tiles to unclip
      */
     public void unclipTiles(List<WorldTile> tiles) {
-        tiles.forEach(t -> World.getRegion(t.getRegionId())
-                .forceGetRegionMap().unclipTile(
-                        t.getPlane(),
-                        t.getXInRegion(),
-                        t.getYInRegion()
-                ));
+        overlay.unclip(tiles);
+        tiles.forEach(tile -> refreshTiles(tile.getX(), tile.getY(), 1, 1));
     }
 
     /**
-     * Gets a relative tile in the instanced region given the ground-truth x, y, and plane coordinate.
-     * @param trueX the ground-truth x coordinate
-     * @param trueY the ground-truth y coordinate
-     * @param truePlane the ground-truth plane coordinate
-     * @return the equivalent WorldTile in the instanced region
+     * The fixed plane 1 locations which the fight moves entities to during phase
+     * transitions and cutscenes, by their ground-truth coordinates.
+     */
+    public enum Anchor {
+        LIGHT_BOSS_RETURN(4564, 6262),
+        ACID_BOSS_RETURN(4564, 6259),
+        ACID_RAMP_EXIT(4561, 6265),
+        CHARGE_PLAYERS(4548, 6249),
+        CHARGE_BOSS_START(4535, 6249),
+        CHARGE_BOSS_END(4546, 6249),
+        ARAXXI_PLAYERS(4574, 6263),
+        ARAXXI_BOSS(4570, 6265),
+        ARAXXI_BOSS_FACE(4571, 6265),
+        ARAXXI_BOSS_LEAP(4589, 6265),
+        ARAXXI_PLAYERS_LEAP(4588, 6260);
+
+        private final int trueX;
+        private final int trueY;
+
+        Anchor(int trueX, int trueY) {
+            this.trueX = trueX;
+            this.trueY = trueY;
+        }
+    }
+
+    /**
+     * The named areas of the instance which fight mechanics check against.
      */
-    private WorldTile getRelativeTile(int trueX, int trueY, int truePlane) {
-        int relX = relativeX(trueX);
-        int relY = relativeY(trueY);
-        return new WorldTile(relX, relY, truePlane);
+    public enum Zone {
+        ACID_POOL,
+        RAMP
     }
 
     public enum Paths {
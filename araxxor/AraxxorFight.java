@@ -7,15 +7,15 @@ import java.util.stream.Collectors;
 
 import com.rs.Settings;
 import com.rs.cache.loaders.ItemDefinitions;
-import com.rs.cores.CoresManager;
 import com.rs.game.*;
+import com.rs.game.instance.InstanceRandom;
+import com.rs.game.instance.InstanceScheduler;
+import com.rs.game.instance.InstanceTask;
 import com.rs.game.item.Item;
 import com.rs.game.player.Player;
 import com.rs.game.player.content.araxxor.npcs.Araxxi;
 import com.rs.game.player.content.araxxor.npcs.Araxxor;
 import com.rs.game.player.content.araxxor.npcs.Araxyte;
-import com.rs.game.tasks.WorldTask;
-import com.rs.game.tasks.WorldTasksManager;
 import com.rs.utils.Logger;
 import com.rs.utils.NPCCombatDefinitionsL;
 import com.rs.utils.Utils;
@@ -47,26 +47,41 @@ public final class AraxxorFight {
     private int lpWallHealth;
 
     private final AraxxorEnvironment config;
+    private final InstanceRandom rng;
+    private final InstanceScheduler scheduler;
 
     private final List<Player> players;
+    private final Map<Player, AraxxorHud> huds = new HashMap<>();
     private Map<Player, AraxxorReward> rewardMap;
 
     private Araxyte boss;
 
     /**
      * Constructs a new Araxxor fight instance. The environment
-     * is generated internally in this constructor call.
+     * is taken from the {@link AraxxorInstancePool} in this constructor call,
+     * and the fight is given its own {@link InstanceRandom} stream
+     * and {@link InstanceScheduler}.
      * @param players the players in this fight
      */
     public AraxxorFight(List<Player> players) {
         this.players = players;
-        this.config = new AraxxorEnvironment(this, AraxxorManager.getCurrentPaths());
+        final String label = "Araxxor fight of " + players.stream()
+                .map(Player::getDisplayName).collect(Collectors.joining(", "));
+        this.rng = InstanceRandom.create(label);
+        this.scheduler = InstanceScheduler.create(label);
+        this.config = AraxxorInstancePool.acquire(this);
         this.phase = 0;
         lpWallHealth = 100;
         this.players.forEach(player -> {
             player.getControlerManager().startControler("AraxxorController", this);
             player.setForceMultiArea(true);
         });
+        scheduler.schedule(new InstanceTask() {
+            @Override
+            public void run() {
+                huds.values().forEach(AraxxorHud::flush);
+            }
+        }, 0, 0);
         spawnAraxxor();
     }
 
@@ -111,6 +126,15 @@ public final class AraxxorFight {
         return config;
     }
 
+    /**
+     * Accessor to the fight's random stream. All of the fight's mechanics
+     * draw from this stream, so a fight can be replayed from its logged seed.
+     * @return the {@link InstanceRandom} owned by this fight
+     */
+    public InstanceRandom getRandom() {
+        return rng;
+    }
+
     /**
      * Tells whether or not the players have selected a path.
      * @return a {@code boolean} indicating if one of the webs
@@ -129,8 +153,8 @@ public final class AraxxorFight {
 
     /**
      * Negates the suffocation flag. When this method is
-     * called, the {@code WorldTask} responsible for
-     * suffocating the players will invoke {@link WorldTask#stop()}.
+     * called, the {@code InstanceTask} responsible for
+     * suffocating the players will invoke {@link InstanceTask#stop()}.
      */
     void stopSuffocate() {
         this.suffocate = false;
@@ -145,6 +169,24 @@ public final class AraxxorFight {
         return shutdown;
     }
 
+    /**
+     * Returns a player's HUD state, which every overlay update
+     * in this fight goes through.
+     * @param player the player
+     * @return the player's HUD state
+     */
+    AraxxorHud hudOf(Player player) {
+        return huds.computeIfAbsent(player, AraxxorHud::new);
+    }
+
+    /**
+     * Returns the scheduler running all of this fight's timed work.
+     * @return the fight's scheduler
+     */
+    public InstanceScheduler getScheduler() {
+        return scheduler;
+    }
+
     /**
      * Retruns one of the players' rewards from this
      * fight instance.
@@ -183,18 +225,18 @@ public final class AraxxorFight {
             }
         }
         if(phase == 2 && config.getActivePath() == AraxxorEnvironment.Paths.LIGHT) {
-            players.forEach(AraxxorInterfaces::sendDarkness);
-            CoresManager.getServiceProvider().scheduleFixedLengthTask(new LightPathMechanic(this),
-                    0, 600, TimeUnit.MILLISECONDS);
+            players.forEach(p -> AraxxorInterfaces.sendDarkness(this, p));
+            scheduler.schedule(new LightPathMechanic(this), 0, 0);
         } else if(phase == 3 && config.getActivePath() == AraxxorEnvironment.Paths.ACID) {
             suffocatePlayers();
         } else if(phase == 3 && config.getActivePath() == AraxxorEnvironment.Paths.LIGHT) {
-            boss.setNextWorldTile(config.getRelativeTile(new WorldTile(4564, 6262, 1)));
-            boss.setNextAnimation(new Animation(24076));
-            boss.setNextGraphics(new Graphics(5011));
-            CoresManager.getServiceProvider().executeWithDelay(() -> {
+            boss.setNextWorldTile(config.getAnchor(AraxxorEnvironment.Anchor.LIGHT_BOSS_RETURN));
+            boss.setNextAnimation(AraxxorEffects.DESCEND);
+            boss.setNextGraphics(AraxxorEffects.DESCEND_GRAPHICS);
+            // 5 ticks: the unitless executeWithDelay this replaced counted ticks (see InstanceScheduler).
+            scheduler.schedule(() -> {
                 boss.setCantInteract(false);
-                Player target = players.get(Utils.random(players.size()));
+                Player target = rng.pick(players);
                 boss.setNextFaceWorldTile(target);
                 boss.setTarget(target);
             }, 5);
@@ -209,52 +251,43 @@ public final class AraxxorFight {
     private void startAraxxi() {
 
         players.forEach(p -> {
-            p.setNextWorldTile(config.getRelativeTile(new
-                    WorldTile(4574, 6263, 1)));
+            p.setNextWorldTile(config.getAnchor(AraxxorEnvironment.Anchor.ARAXXI_PLAYERS));
             p.setNextFaceWorldTile(new WorldTile(p.getX() + 1,
                     p.getY(), p.getPlane()));
         });
-        boss.setNextWorldTile(config.getRelativeTile(new WorldTile(4570, 6265, 1)));
-        boss.setNextFaceWorldTile(config.getRelativeTile(new WorldTile(4571, 6265, 1)));
-        WorldTasksManager.schedule(new WorldTask() {
+        boss.setNextWorldTile(config.getAnchor(AraxxorEnvironment.Anchor.ARAXXI_BOSS));
+        boss.setNextFaceWorldTile(config.getAnchor(AraxxorEnvironment.Anchor.ARAXXI_BOSS_FACE));
+        scheduler.schedule(new InstanceTask() {
 
             final byte[] dirBoss = Utils.getDirection(boss.getDirection());
-            final byte[] dirPlayer = Utils.getDirection(players.get(
-                    Utils.random(players.size())).getDirection());
+            final byte[] dirPlayer = Utils.getDirection(rng.pick(players).getDirection());
 
             int tick = 0;
 
-            private boolean checkShutdown() {
-                if (shutdown) stop();
-                return shutdown;
-            }
-
             @Override
             public void run() {
-                if(checkShutdown())
-                    return;
                 if(tick == 1) {
                     final int angleBoss = Utils.getAngle(dirBoss[0], dirBoss[1]);
                     final int anglePlayer = Utils.getAngle(dirPlayer[0], dirPlayer[1]);
-                    boss.setNextAnimation(new Animation(24042));
-                    boss.setNextForceMovement(new ForceMovement(boss, 0, config.getRelativeTile(
-                            new WorldTile(4589, 6265, 1)), 4, angleBoss));
+                    boss.setNextAnimation(AraxxorEffects.LEAP);
+                    boss.setNextForceMovement(new ForceMovement(boss, 0,
+                            config.getAnchor(AraxxorEnvironment.Anchor.ARAXXI_BOSS_LEAP), 4, angleBoss));
                     players.forEach(p -> {
                         p.getCutscenesManager().play("AraxxiStartCS");
                         p.setNextForceMovement(new ForceMovement(p, 0,
-                                config.getRelativeTile(new WorldTile(4588, 6260, 1)), 4, anglePlayer));
+                                config.getAnchor(AraxxorEnvironment.Anchor.ARAXXI_PLAYERS_LEAP), 4, anglePlayer));
                     });
                 } else if(tick == 2) {
-                    players.forEach(p -> p.setNextAnimation(new Animation(19502)));
-                    boss.setNextAnimation(new Animation(-1));
+                    players.forEach(p -> p.setNextAnimation(AraxxorEffects.PLAYER_LAND));
+                    boss.setNextAnimation(AraxxorEffects.RESET_ANIMATION);
                 } else if(tick == 4) {
                     players.forEach(player ->
-                            player.setNextWorldTile(config.getRelativeTile(new WorldTile(4588, 6260, 1))));
-                    boss.setNextWorldTile(config.getRelativeTile(
-                            new WorldTile(4589, 6265, 1)));
+                            player.setNextWorldTile(config.getAnchor(AraxxorEnvironment.Anchor.ARAXXI_PLAYERS_LEAP)));
+                    boss.setNextWorldTile(config.getAnchor(AraxxorEnvironment.Anchor.ARAXXI_BOSS_LEAP));
                     boss.setCantInteract(true);
                     boss.setTarget(null);
-                    CoresManager.getServiceProvider().executeWithDelay(AraxxorFight.this::spawnAraxxi, 2);
+                    // 2 ticks: the unitless executeWithDelay this replaced counted ticks (see InstanceScheduler).
+                    scheduler.schedule(AraxxorFight.this::spawnAraxxi, 2);
                     stop();
                 }
                 ++tick;
@@ -269,30 +302,23 @@ public final class AraxxorFight {
     private void spawnAraxxi() {
         final int deathId = NPCCombatDefinitionsL.getNPCCombatDefinitions(Araxyte.ARAXXI).getDeathEmote();
         boss.setNextAnimation(new Animation(deathId));
-        WorldTasksManager.schedule(new WorldTask() {
+        scheduler.schedule(new InstanceTask() {
 
             int tick = 0;
             final WorldTile initialTile = new WorldTile(boss.getX(), boss.getY(), boss.getPlane());
 
-            private boolean checkShutdown() {
-                if (shutdown) stop();
-                return shutdown;
-            }
-
             @Override
             public void run() {
-                if(checkShutdown())
-                    return;
                 if(tick == 0) {
-                    World.sendGraphics(null, new Graphics(5000), initialTile);
+                    World.sendGraphics(null, AraxxorEffects.ARAXXI_EMERGING, initialTile);
                 } else if(tick == 2) {
                     boss.sendDeath(null);
                     boss.setNextWorldTile(new WorldTile(boss.getX(), boss.getY(), boss.getPlane() + 1));
-                    World.sendGraphics(null, new Graphics(5070), initialTile);
+                    World.sendGraphics(null, AraxxorEffects.ARAXXI_EMERGED, initialTile);
                 } else if(tick == 8) {
                     boss = new Araxxi(Araxyte.ARAXXI, initialTile,
                             AraxxorFight.this);
-                    boss.setTarget(players.get(Utils.random(players.size())));
+                    boss.setTarget(rng.pick(players));
                     boss.setCantInteract(false);
                     stop();
                 }
@@ -313,11 +339,11 @@ public final class AraxxorFight {
         phase = 5;
         rewardMap = new HashMap<>();
         players.forEach(p -> {
-            rewardMap.put(p, new AraxxorReward());
+            rewardMap.put(p, new AraxxorReward(rng));
             p.addAraxxorEnrage(p.getAraxxorEnrage() >= 300 ? 0 : 20);
         });
-        World.spawnObject(new WorldObject(45803, 10, 0, config.getExitTile()));
-        World.sendGraphics(null, new Graphics(4982), config.getExitTile());
+        config.spawnObject(new WorldObject(45803, 10, 0, config.getExitTile()));
+        World.sendGraphics(null, AraxxorEffects.EXIT_OPENED, config.getExitTile());
         AraxxorManager.process(this);
     }
 
@@ -335,6 +361,7 @@ public final class AraxxorFight {
         AraxxorManager.unmapFight(player);
         player.setForceMultiArea(false);
         players.remove(player);
+        huds.remove(player);
         AraxxorInterfaces.closeAll(player);
         player.getControlerManager().getControler().removeControler();
         player.setNextWorldTile(Settings.START_PLAYER_LOCATION);
@@ -344,13 +371,16 @@ public final class AraxxorFight {
 
     /**
      * Enter shutdown state. Set the {@code shutdown} flag to {@code true},
-     * causing all {@code WorldTask} objects associated with the fight
-     * to invoke {@link WorldTask#stop()}, finishing the boss NPC if required,
-     * and unmapping the environment chunks.
+     * cancel every {@code InstanceTask} still pending on the fight's
+     * scheduler, finish the boss NPC if required,
+     * and return the environment to the {@link AraxxorInstancePool}.
      */
     private void shutdown() {
         shutdown = true;
-        config.destroyEnvironment();
+        if(boss != null)
+            boss.despawnMinions();
+        scheduler.cancel();
+        AraxxorInstancePool.release(config);
         if(boss != null && !boss.isDead() && !boss.hasFinished())
             boss.sendDeath(null);
     }
@@ -363,47 +393,39 @@ public final class AraxxorFight {
         players.forEach(p -> {
             p.resetWalkSteps();
             p.lock();
-            p.setNextWorldTile(config.getRelativeTile(new WorldTile(4548, 6249, 1)));
+            p.setNextWorldTile(config.getAnchor(AraxxorEnvironment.Anchor.CHARGE_PLAYERS));
         });
 
-        WorldTasksManager.schedule(new WorldTask() {
+        scheduler.schedule(new InstanceTask() {
 
             int tick = 0;
             boolean correctKey = false;
 
-            private boolean checkShutdown() {
-                if (shutdown) stop();
-                return shutdown;
-            }
-
             @Override
             public void run() {
-                if(checkShutdown())
-                    return;
                 if(tick == 1) {
                     AraxxorFight.this.boss.setCantInteract(true);
-                    AraxxorFight.this.boss.setNextWorldTile(config.getRelativeTile(new WorldTile(4535, 6249, 1)));
+                    AraxxorFight.this.boss.setNextWorldTile(config.getAnchor(AraxxorEnvironment.Anchor.CHARGE_BOSS_START));
                     AraxxorFight.this.boss.setNextFaceWorldTile(
                             AraxxorFight.this.config.getCutsceneAnchorOne());
                     AraxxorFight.this.players.forEach(p -> {
                         p.getCutscenesManager().play("LightPathCutscene");
                         p.setNextFaceWorldTile(AraxxorFight.this.boss);
-                        AraxxorInterfaces.updateLighting(p, AraxxorInterfaces.RED);
+                        AraxxorInterfaces.updateLighting(AraxxorFight.this, p, AraxxorInterfaces.RED);
                     });
-                    Araxxor.SwingDirection swingDirection = Araxxor.SwingDirection.values()[
-                            Utils.random(Araxxor.SwingDirection.values().length)];
+                    Araxxor.SwingDirection swingDirection = rng.pick(Araxxor.SwingDirection.values());
                     ((Araxxor) AraxxorFight.this.boss).setSwingDirection(swingDirection);
-                    AraxxorFight.this.boss.setNextAnimation(new Animation(swingDirection.getAnimationId()));
+                    AraxxorFight.this.boss.setNextAnimation(swingDirection.getAnimation());
                     AraxxorFight.this.notifyPlayersMsgBox(swingDirection.getWarningMessage());
                     players.forEach(p -> AraxxorManager.controllerOf(p).allowKeyStroke());
 
                 } else if(tick == 4) {
                     players.forEach(p -> {
                         if(!(correctKey = AraxxorManager.controllerOf(p).checkCorrectKey())) {
-                            CoresManager.getServiceProvider().executeWithDelay(() -> {
+                            scheduler.schedule(() -> {
                                 p.applyHit(new Hit(AraxxorFight.this.boss,
                                         200, Hit.HitLook.CRITICAL_DAMAGE));
-                                p.setNextAnimation(new Animation(10070));
+                                p.setNextAnimation(AraxxorEffects.PLAYER_KNOCKED_DOWN);
                                 p.getDialogueManager().startDialogue("SimpleMessage",
                                         "You fail to judge Araxxor's attack as he slams through you!");
                                 p.sendMessage("You fail to judge Araxxor's attack as he slams through you!");
@@ -416,30 +438,30 @@ public final class AraxxorFight {
                     });
                 } else if(tick == 7) {
                     AraxxorFight.this.players.forEach(Player::unlock);
-                    AraxxorFight.this.boss.setNextWorldTile(config.getRelativeTile(new WorldTile(4546, 6249, 1)));
-                    AraxxorFight.this.boss.setNextAnimation(new Animation(24103));
+                    AraxxorFight.this.boss.setNextWorldTile(config.getAnchor(AraxxorEnvironment.Anchor.CHARGE_BOSS_END));
+                    AraxxorFight.this.boss.setNextAnimation(AraxxorEffects.CHARGE);
                     if(correctKey) {
                         lpWallHealth -= 50;
                     } else lpWallHealth -= 25;
-                    players.forEach(AraxxorInterfaces::sendDarkness);
+                    players.forEach(p -> AraxxorInterfaces.sendDarkness(AraxxorFight.this, p));
                 } else if(tick == 10) {
-                    AraxxorFight.this.boss.setNextAnimation(new Animation(24056));
+                    AraxxorFight.this.boss.setNextAnimation(AraxxorEffects.CLIMB);
                     if(lpWallHealth <= 0)
-                        World.spawnObject(new WorldObject(91515, 10, 0, config.getLpWallReference()));
+                        config.spawnObject(new WorldObject(91515, 10, 0, config.getLpWallReference()));
                 } else if(tick == 16) {
                     AraxxorFight.this.boss.setNextWorldTile(new WorldTile(AraxxorFight.this.boss.getX(),
                             AraxxorFight.this.boss.getY(), AraxxorFight.this.boss.getPlane() + 1));
                     if(lpWallHealth > 0) {
-                        CoresManager.getServiceProvider().executeWithDelay(AraxxorFight.this::callChargeCutscene,
+                        scheduler.schedule(AraxxorFight.this::callChargeCutscene,
                                 5, TimeUnit.SECONDS);
                         players.forEach(p -> p.getPackets().sendPlayerMessageBox("Araxxor climbs " +
                                 "back up, and plans to charge again!"));
                     }
                     else {
-                        World.spawnObject(new WorldObject(91519, 10, 0, config.getLpWallReference()));
+                        config.spawnObject(new WorldObject(91519, 10, 0, config.getLpWallReference()));
                         config.unclipTiles(config.getLpWallReference());
-                        AraxxorFight.this.players.forEach(p -> p.getInterfaceManager().closeSecondaryOverlay());
-                        CoresManager.getServiceProvider().executeWithDelay(AraxxorFight.this::nextPhase,
+                        AraxxorFight.this.players.forEach(p -> hudOf(p).closeSecondaryOverlay());
+                        scheduler.schedule(AraxxorFight.this::nextPhase,
                                 1200, TimeUnit.MILLISECONDS);
                     }
                     stop();
@@ -457,20 +479,13 @@ public final class AraxxorFight {
      * until the players navigate past the acid path ramp.
      */
     private void suffocatePlayers() {
-        WorldTasksManager.schedule(new WorldTask() {
+        scheduler.schedule(new InstanceTask() {
 
             int tick = 0;
             int damage = 25;
 
-            private boolean checkShutdown() {
-                if (shutdown) stop();
-                return shutdown;
-            }
-
             @Override
             public void run() {
-                if(checkShutdown())
-                    return;
                 if(tick == 0) {
                     players.forEach(player -> player.sendMessage("The noxious fumes " +
                             "from the leftover acid begin to suffocate you!"));
@@ -503,18 +518,13 @@ public final class AraxxorFight {
      */
     private void spawnAraxxor() {
 
-        WorldTasksManager.schedule(new WorldTask() {
+        scheduler.schedule(new InstanceTask() {
 
             int tick = 0;
             int araxxorId;
 
             final WorldTile spawn = new WorldTile(4503, 6261, 1);
 
-            private boolean checkShutdown() {
-                if (shutdown) stop();
-                return shutdown;
-            }
-
             private boolean processPheromone() {
                 final Player pheromoneHolder =
                         players.stream()
@@ -531,7 +541,7 @@ public final class AraxxorFight {
                     else if(defs.isMeleeTypeWeapon())
                         araxxorId = Araxyte.ARAXXOR_NPC_ID_RANGE;
                     else {
-                        final int rand = Utils.random(3);
+                        final int rand = rng.random(3);
                         araxxorId = rand == 0 ?
                                 Araxyte.ARAXXOR_NPC_ID_MELEE : rand == 1 ?
                                 Araxyte.ARAXXOR_NPC_ID_MAGE : Araxyte.ARAXXOR_NPC_ID_RANGE;
@@ -544,11 +554,9 @@ public final class AraxxorFight {
 
             @Override
             public void run() {
-                if(checkShutdown())
-                    return;
                 if(tick == 10) {
                     if(!processPheromone()) {
-                        final int rand = Utils.random(3);
+                        final int rand = rng.random(3);
                         araxxorId = rand == 0 ?
                                 Araxyte.ARAXXOR_NPC_ID_MELEE : rand == 1 ?
                                 Araxyte.ARAXXOR_NPC_ID_MAGE : Araxyte.ARAXXOR_NPC_ID_RANGE;
@@ -557,7 +565,7 @@ public final class AraxxorFight {
                     boss.setCantInteract(true);
                     boss.setNextFaceWorldTile(new WorldTile(boss.getX() -1 ,
                             boss.getY(), boss.getPlane()));
-                    boss.setNextAnimation(new Animation(24118));
+                    boss.setNextAnimation(AraxxorEffects.EMERGE);
                 } else if(tick == 18) {
                     phase = 1;
                     boss.setCantInteract(false);
@@ -0,0 +1,208 @@
+package com.rs.game.player.content.araxxor;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.rs.game.player.Player;
+import com.rs.game.player.content.araxxor.npcs.Araxxor;
+import com.rs.game.player.content.araxxor.npcs.Araxyte;
+import com.rs.utils.Utils;
+
+/**
+ * The fight overlays last sent to a single player, so that an update
+ * only sends what has changed since.<br/><br/>
+ * Updates are only recorded as they happen, and the fight flushes every
+ * player's HUD once per tick, so a tick with many hits on the boss costs
+ * at most one health bar update. Configs and component texts are recorded
+ * as the value they should have, and a flush sends only those whose value
+ * differs from the one last sent.
+ * <br/><br/>
+ * This project is primarily the work of dlo3, with contributions
+ * from Ataraxia devs Kris, Armak1ing, and CJay. It may only be distributed
+ * <b>AS-IS</b>, and <b>FREE OF CHARGE</b>, with dlo3's consent.
+ * Furthermore, this notice must remain in all distributions.
+ * @author David O'Neill (dlo3)
+ * @since 1.2
+ */
+final class AraxxorHud {
+
+    static final int BOSS_HEALTH_OVERLAY = 945;
+
+    private static final int NONE = -1;
+
+    private static int bossOverlayComponents = NONE;
+
+    private final Player player;
+
+    private int overlay = NONE;
+    private int secondaryOverlay = NONE;
+    private Araxyte boss;
+
+    private final Map<Integer, Integer> globalConfigs = new HashMap<>();
+    private final Map<Integer, Integer> fileConfigs = new HashMap<>();
+    private final Map<Integer, String> globalStrings = new HashMap<>();
+    private final Map<Integer, String> texts = new HashMap<>();
+
+    private final Map<Integer, Integer> pendingGlobalConfigs = new LinkedHashMap<>();
+    private final Map<Integer, Integer> pendingFileConfigs = new LinkedHashMap<>();
+    private final Map<Integer, String> pendingTexts = new LinkedHashMap<>();
+
+    AraxxorHud(Player player) {
+        this.player = player;
+    }
+
+    /**
+     * Records that the boss's health has changed, to be sent on the next flush.
+     * @param boss the current boss NPC
+     */
+    void markBossHealth(Araxyte boss) {
+        this.boss = boss;
+    }
+
+    /**
+     * Records the value a global config should have after the next flush.
+     * @param id the config id
+     * @param value the value
+     */
+    void setGlobalConfig(int id, int value) {
+        pendingGlobalConfigs.put(id, value);
+    }
+
+    /**
+     * Records the value a config file should have after the next flush.
+     * @param id the config file id
+     * @param value the value
+     */
+    void setConfigByFile(int id, int value) {
+        pendingFileConfigs.put(id, value);
+    }
+
+    /**
+     * Records the text a component should show after the next flush.
+     * @param interfaceId the interface id
+     * @param componentId the component id
+     * @param text the text
+     */
+    void setText(int interfaceId, int componentId, String text) {
+        pendingTexts.put(interfaceId << 16 | componentId, text);
+    }
+
+    /**
+     * Opens an overlay, unless it is already open.
+     * @param interfaceId the overlay interface id
+     * @return {@code true} if the overlay was opened
+     */
+    boolean openOverlay(int interfaceId) {
+        if(overlay == interfaceId)
+            return false;
+        player.getInterfaceManager().sendOverlay(interfaceId, false);
+        forgetTexts(overlay);
+        overlay = interfaceId;
+        return true;
+    }
+
+    /**
+     * Closes the overlay, if one is open, dropping any text recorded for it.
+     */
+    void closeOverlay() {
+        if(overlay == NONE)
+            return;
+        player.getInterfaceManager().closeOverlay(false);
+        forgetTexts(overlay);
+        overlay = NONE;
+    }
+
+    /**
+     * Opens a secondary overlay, unless it is already open.
+     * @param interfaceId the overlay interface id
+     * @return {@code true} if the overlay was opened
+     */
+    boolean openSecondaryOverlay(int interfaceId) {
+        if(secondaryOverlay == interfaceId)
+            return false;
+        player.getInterfaceManager().sendSecondaryOverlay(interfaceId);
+        secondaryOverlay = interfaceId;
+        return true;
+    }
+
+    /**
+     * Closes the secondary overlay, whichever one is open.
+     */
+    void closeSecondaryOverlay() {
+        player.getInterfaceManager().closeSecondaryOverlay();
+        secondaryOverlay = NONE;
+    }
+
+    /**
+     * Tells whether or not a secondary overlay is the one open.
+     * @param interfaceId the overlay interface id
+     * @return {@code true} if it is open
+     */
+    boolean isSecondaryOverlayOpen(int interfaceId) {
+        return secondaryOverlay == interfaceId;
+    }
+
+    /**
+     * Sends every recorded update which differs from what the player was last sent.
+     */
+    void flush() {
+        if(boss != null) {
+            sendBossHealth(boss);
+            boss = null;
+        }
+        if(!pendingGlobalConfigs.isEmpty()) {
+            pendingGlobalConfigs.forEach((id, value) -> {
+                if(!value.equals(globalConfigs.put(id, value)))
+                    player.getPackets().sendGlobalConfig(id, value);
+            });
+            pendingGlobalConfigs.clear();
+        }
+        if(!pendingFileConfigs.isEmpty()) {
+            pendingFileConfigs.forEach((id, value) -> {
+                if(!value.equals(fileConfigs.put(id, value)))
+                    player.getPackets().sendConfigByFile(id, value);
+            });
+            pendingFileConfigs.clear();
+        }
+        if(!pendingTexts.isEmpty()) {
+            pendingTexts.forEach((key, text) -> {
+                if(!text.equals(texts.put(key, text)))
+                    player.getPackets().sendIComponentText(key >>> 16, key & 0xFFFF, text);
+            });
+            pendingTexts.clear();
+        }
+    }
+
+    private void sendBossHealth(Araxyte boss) {
+        if(openSecondaryOverlay(BOSS_HEALTH_OVERLAY)) {
+            for (int i = 19; i < bossOverlayComponents(); i++)
+                player.getPackets().sendHideIComponent(BOSS_HEALTH_OVERLAY, i, true);
+            player.getPackets().sendHideIComponent(BOSS_HEALTH_OVERLAY, 0, true);
+            player.getPackets().sendHideIComponent(BOSS_HEALTH_OVERLAY, 1, true);
+            player.getPackets().sendHideIComponent(BOSS_HEALTH_OVERLAY, 2, false);
+        }
+        final String title = boss instanceof Araxxor ? "Araxxor's Health" : "Araxxi's Health";
+        if(!Objects.equals(globalStrings.put(315, title), title))
+            player.getPackets().sendGlobalString(315, title);
+        setGlobalConfig(1233, (int) (((double) boss.getHitpoints() / boss.getMaxHitpoints()) * 212) - 12);
+    }
+
+    /**
+     * Drops the texts recorded for an interface which has been closed, since
+     * the client will not keep them.
+     */
+    private void forgetTexts(int interfaceId) {
+        if(interfaceId == NONE)
+            return;
+        texts.keySet().removeIf(key -> key >>> 16 == interfaceId);
+        pendingTexts.keySet().removeIf(key -> key >>> 16 == interfaceId);
+    }
+
+    private static int bossOverlayComponents() {
+        if(bossOverlayComponents == NONE)
+            bossOverlayComponents = Utils.getInterfaceDefinitionsComponentsSize(BOSS_HEALTH_OVERLAY);
+        return bossOverlayComponents;
+    }
+}
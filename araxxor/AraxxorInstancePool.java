@@ -0,0 +1,257 @@
+package com.rs.game.player.content.araxxor;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.rs.cores.CoresManager;
+import com.rs.cores.FixedLengthRunnable;
+import com.rs.game.instance.InstanceScheduler;
+import com.rs.game.tasks.WorldTask;
+import com.rs.game.tasks.WorldTasksManager;
+import com.rs.utils.Logger;
+
+/**
+ * A pool of pre-built Araxxor instances, kept per rotation. Building an
+ * {@link AraxxorEnvironment} copies a 19x6 chunk area and spawns the path
+ * objects, so it is done ahead of time by a background replenisher rather
+ * than when a fight starts. Finished environments are reset and returned
+ * to the pool instead of being destroyed.
+ *
+ * <br/><br/>
+ * This project is primarily the work of dlo3, with contributions
+ * from Ataraxia devs Kris, Armak1ing, and CJay. It may only be distributed
+ * <b>AS-IS</b>, and <b>FREE OF CHARGE</b>, with dlo3's consent.
+ * Furthermore, this notice must remain in all distributions.
+ * @author David O'Neill (dlo3)
+ * @since 1.2
+ */
+public final class AraxxorInstancePool {
+
+    /** Seconds between replenisher runs. */
+    private static final int REFILL_PERIOD = 5;
+    /** Milliseconds to wait after a fight shuts down before resetting its environment. */
+    private static final long RELEASE_DELAY = 10000;
+
+    private static final Map<AraxxorEnvironment.Paths, Queue<AraxxorEnvironment>> pools =
+            new EnumMap<>(AraxxorEnvironment.Paths.class);
+
+    private static volatile int targetSize = 2;
+
+    private static final AtomicInteger pooled = new AtomicInteger();
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong refills = new AtomicLong();
+    private static final AtomicLong refillNanos = new AtomicLong();
+    private static volatile long lastRefillNanos;
+
+    static
+    {
+        for(AraxxorEnvironment.Paths path : AraxxorEnvironment.Paths.values())
+            pools.put(path, new ConcurrentLinkedQueue<>());
+    }
+
+    private AraxxorInstancePool() { }
+
+    /**
+     * Starts the background replenisher, which keeps the pool for the current
+     * rotation topped up to the target size.
+     */
+    static void start() {
+        CoresManager.getServiceProvider().scheduleFixedLengthTask(new FixedLengthRunnable() {
+            @Override
+            public boolean repeat() {
+                replenish();
+                return true;
+            }
+        }, 0, REFILL_PERIOD);
+    }
+
+    /**
+     * Takes a ready environment for the current rotation and binds it to the fight.
+     * If the pool is empty, a new environment is built in the background as before,
+     * and the players are sent in on the fight's first tick after it is ready.
+     * @param fight the fight which needs an environment
+     * @return the environment bound to {@code fight}
+     */
+    static AraxxorEnvironment acquire(AraxxorFight fight) {
+        AraxxorEnvironment environment = pools.get(AraxxorManager.getOffPath()).poll();
+        if(environment != null) {
+            pooled.decrementAndGet();
+            hits.incrementAndGet();
+            environment.bind(fight);
+            return environment;
+        }
+        misses.incrementAndGet();
+        final AraxxorEnvironment built = new AraxxorEnvironment(AraxxorManager.getCurrentPaths(),
+                AraxxorManager.getOffPath());
+        CoresManager.getServiceProvider().executeNow(() -> {
+            built.buildEnvironment();
+            fight.getScheduler().post(() -> built.bind(fight));
+        });
+        return built;
+    }
+
+    /**
+     * Returns an environment to the pool once its fight has shut down. The environment
+     * is reset on the game tick after a short delay, giving the players time to leave,
+     * since resetting it edits world objects and clipping. Environments from a previous
+     * rotation, beyond the target pool size, or which fail to reset, are destroyed in
+     * the background instead.
+     * @param environment the environment of the finished fight
+     */
+    static void release(AraxxorEnvironment environment) {
+        WorldTasksManager.schedule(new WorldTask() {
+            @Override
+            public void run() {
+                stop();
+                if(environment.getOffPath() == AraxxorManager.getOffPath() && reserveSlot()) {
+                    try {
+                        environment.reset();
+                    } catch(Throwable t) {
+                        pooled.decrementAndGet();
+                        Logger.log(Logger.DEBUG, "Failed to reset a released Araxxor environment: " + t);
+                        CoresManager.getServiceProvider().executeNow(() -> discard(environment));
+                        return;
+                    }
+                    pools.get(environment.getOffPath()).offer(environment);
+                } else
+                    CoresManager.getServiceProvider().executeNow(() -> discard(environment));
+            }
+        }, InstanceScheduler.toTicks(RELEASE_DELAY, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Reserves a place in the pool for an environment about to be added, unless the
+     * pool is already at its target size. The place is counted before the environment
+     * is ready, so the replenisher and released fights can never overfill the pool.
+     * @return {@code true} if a place was reserved
+     */
+    private static boolean reserveSlot() {
+        int current;
+        do {
+            current = pooled.get();
+            if(current >= targetSize)
+                return false;
+        } while(!pooled.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Builds environments for the current rotation until the pool reaches its target size,
+     * and destroys any environments left over from a previous rotation. A failed build gives
+     * back its place in the pool and its chunks, and ends the run; the next run tries again.
+     */
+    private static void replenish() {
+        final AraxxorEnvironment.Paths offPath = AraxxorManager.getOffPath();
+        if(offPath == null)
+            return;
+        pools.forEach((path, pool) -> {
+            if(path == offPath)
+                return;
+            AraxxorEnvironment stale;
+            while((stale = pool.poll()) != null) {
+                pooled.decrementAndGet();
+                discard(stale);
+            }
+        });
+        while(reserveSlot()) {
+            final long start = System.nanoTime();
+            AraxxorEnvironment environment = new AraxxorEnvironment(AraxxorManager.getCurrentPaths(), offPath);
+            try {
+                environment.buildEnvironment();
+            } catch(Throwable t) {
+                pooled.decrementAndGet();
+                Logger.log(Logger.DEBUG, "Failed to build a pooled Araxxor environment: " + t);
+                discard(environment);
+                return;
+            }
+            final long elapsed = System.nanoTime() - start;
+            lastRefillNanos = elapsed;
+            refillNanos.addAndGet(elapsed);
+            refills.incrementAndGet();
+            pools.get(offPath).offer(environment);
+        }
+    }
+
+    /**
+     * Destroys an environment which will not be pooled, returning its chunks, and logs
+     * rather than throws if that fails, so the caller carries on.
+     * @param environment the environment to destroy
+     */
+    private static void discard(AraxxorEnvironment environment) {
+        try {
+            environment.destroyEnvironment();
+        } catch(Throwable t) {
+            Logger.log(Logger.DEBUG, "Failed to destroy an Araxxor environment: " + t);
+        }
+    }
+
+    /**
+     * Sets the number of ready environments to keep for the current rotation.
+     * @param size the target pool size
+     */
+    public static void setTargetSize(int size) {
+        if(size < 0)
+            throw new IllegalArgumentException("Pool size must not be negative: " + size);
+        targetSize = size;
+        Logger.log(Logger.DEBUG, "Araxxor instance pool size set to " + size + ".");
+    }
+
+    /**
+     * Accessor to the number of environments in the pool, counting those still being
+     * built or reset for it.
+     * @return the current pool size
+     */
+    public static int getPoolSize() {
+        return pooled.get();
+    }
+
+    /**
+     * Accessor to the fraction of fights which started with a pooled environment.
+     * @return the pool hit rate, between 0 and 1
+     */
+    public static double getHitRate() {
+        final long hit = hits.get();
+        final long total = hit + misses.get();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    /**
+     * Accessor to the number of fights which started with a pooled environment.
+     * @return the pool hit count
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Accessor to the number of fights which had to build their own environment.
+     * @return the pool miss count
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Accessor to the average time the replenisher takes to build one environment.
+     * @return the average refill latency in milliseconds
+     */
+    public static double getAverageRefillMillis() {
+        final long count = refills.get();
+        return count == 0 ? 0 : refillNanos.get() / (count * 1_000_000.0);
+    }
+
+    /**
+     * Accessor to the time the replenisher took to build the last environment.
+     * @return the last refill latency in milliseconds
+     */
+    public static double getLastRefillMillis() {
+        return lastRefillNanos / 1_000_000.0;
+    }
+
+}
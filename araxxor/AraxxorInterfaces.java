@@ -1,10 +1,8 @@
 package com.rs.game.player.content.araxxor;
 
-import com.rs.cores.CoresManager;
 import com.rs.game.World;
 import com.rs.game.item.Item;
 import com.rs.game.player.Player;
-import com.rs.game.player.content.araxxor.npcs.Araxxor;
 import com.rs.game.player.content.araxxor.npcs.Araxyte;
 import com.rs.network.packet.PacketRepository;
 import com.rs.utils.Colors;
@@ -12,7 +10,6 @@ import com.rs.utils.ItemExamines;
 import com.rs.utils.Utils;
 
 import java.util.Arrays;
-import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -41,69 +38,62 @@ public final class AraxxorInterfaces {
     private static int HEALTH_CONFIG_FILE = 817;
 
     /**
-     * Sends the boss health overlay interface.
-     * @param players the players to send the overlay to
+     * Updates the boss health overlay interface. The update is sent with
+     * the fight's next HUD flush, and only if the health bar has changed.
+     * @param fight the fight whose players to send the overlay to
      * @param araxyte the current boss NPC
      */
-    public static void updateBossHealthInterface(List<Player> players, Araxyte araxyte) {
-        players.forEach(player -> {
-
-            player.getInterfaceManager().sendSecondaryOverlay(945);
-            for (int i = 19; i < Utils.getInterfaceDefinitionsComponentsSize(945); i++)
-                player.getPackets().sendHideIComponent(945, i, true);
-            player.getPackets().sendHideIComponent(945, 0, true);
-            player.getPackets().sendHideIComponent(945, 1, true);
-            player.getPackets().sendHideIComponent(945, 2, false);
-            player.getPackets().sendGlobalString(315, araxyte instanceof Araxxor ?
-                    "Araxxor's Health" : "Araxxi's Health");
-            player.getPackets().sendGlobalConfig(1233, (int) (((double) araxyte.getHitpoints()
-                    / araxyte.getMaxHitpoints()) * 212) - 12);
-        });
+    public static void updateBossHealthInterface(AraxxorFight fight, Araxyte araxyte) {
+        fight.getPlayers().forEach(player -> fight.hudOf(player).markBossHealth(araxyte));
     }
 
     /**
      * Sends the acid absorption/ramp health secondary overlay interface.
-     * @param players the players to send the overlay to
+     * The overlay is opened right away, and its text is sent with the
+     * fight's next HUD flush.
+     * @param fight the fight whose players to send the overlay to
      */
-    public static void sendAcidInterface(List<Player> players) {
-        players.forEach(player -> {
-            player.getInterfaceManager().sendOverlay(ACID_INTERFACE, false);
-            player.getPackets().sendIComponentText(ACID_INTERFACE, RAMP_HEALTH_CID, "Ramp");
-            player.getPackets().sendIComponentText(ACID_INTERFACE, ABSORBED_ACID_CID, "Absorbed");
-            player.getPackets().sendIComponentText(ACID_INTERFACE, UNUSED, "");
-            player.getPackets().sendIComponentText(ACID_INTERFACE, RAMP_HEALTH_DISPLAY_CID, "Ramp Health: " +
+    public static void sendAcidInterface(AraxxorFight fight) {
+        fight.getPlayers().forEach(player -> {
+            final AraxxorHud hud = fight.hudOf(player);
+            hud.openOverlay(ACID_INTERFACE);
+            hud.setText(ACID_INTERFACE, RAMP_HEALTH_CID, "Ramp");
+            hud.setText(ACID_INTERFACE, ABSORBED_ACID_CID, "Absorbed");
+            hud.setText(ACID_INTERFACE, UNUSED, "");
+            hud.setText(ACID_INTERFACE, RAMP_HEALTH_DISPLAY_CID, "Ramp Health: " +
                     100 + "%");
-            player.getPackets().sendIComponentText(ACID_INTERFACE, ABSORBED_ACID_DISPLAY_CID, "Acid Absorbed: " +
+            hud.setText(ACID_INTERFACE, ABSORBED_ACID_DISPLAY_CID, "Acid Absorbed: " +
                     0 + "%");
         });
     }
 
     /**
      * Updates the acid absorption/ramp health overlay, given the update values.
-     * @param players the players to send the interface update to
+     * Only the text and configs which have changed are sent, with the
+     * fight's next HUD flush.
+     * @param fight the fight whose players to send the interface update to
      * @param rampHealth the current ramp health
      * @param acidAbsorbed the current level of acid absorption
      */
-    public static void updateAcidInterface(List<Player> players, int rampHealth, int acidAbsorbed) {
+    public static void updateAcidInterface(AraxxorFight fight, int rampHealth, int acidAbsorbed) {
         if(rampHealth == 0 || acidAbsorbed == 0) {
-            players.forEach(player ->
-                player.getInterfaceManager().closeOverlay(false)
-            );
+            fight.getPlayers().forEach(player -> fight.hudOf(player).closeOverlay());
             return;
         }
         Double scaledUIrampHealth = (double) rampHealth * (125.0 / 100.0);
         int scaledUIacidAbsorbed = acidAbsorbed * 10;
-        players.forEach(player -> {
-            player.getPackets().sendIComponentText(ACID_INTERFACE, RAMP_HEALTH_CID, "Ramp");
-            player.getPackets().sendIComponentText(ACID_INTERFACE, ABSORBED_ACID_CID, "Absorbed");
-            player.getPackets().sendIComponentText(ACID_INTERFACE, UNUSED, "");
-            player.getPackets().sendIComponentText(ACID_INTERFACE, RAMP_HEALTH_DISPLAY_CID, "Ramp Health: " +
+        fight.getPlayers().forEach(player -> {
+            final AraxxorHud hud = fight.hudOf(player);
+            hud.setText(ACID_INTERFACE, RAMP_HEALTH_CID, "Ramp");
+            hud.setText(ACID_INTERFACE, ABSORBED_ACID_CID, "Absorbed");
+            hud.setText(ACID_INTERFACE, UNUSED, "");
+            hud.setText(ACID_INTERFACE, RAMP_HEALTH_DISPLAY_CID, "Ramp Health: " +
                     Integer.toString(rampHealth) + "%");
-            player.getPackets().sendIComponentText(ACID_INTERFACE, ABSORBED_ACID_DISPLAY_CID, "Acid Absorbed: " +
+            hud.setText(ACID_INTERFACE, ABSORBED_ACID_DISPLAY_CID, "Acid Absorbed: " +
                     Integer.toString(acidAbsorbed) + "%");
-            player.getPackets().sendGlobalConfig(GLOBAL_HEALTH_CONFIG, 2);
-            player.getPackets().sendGlobalConfig(HEALTH_CONFIG_FILE, scaledUIrampHealth.intValue());
-            player.getPackets().sendConfigByFile(ABSORBED_CONFIG_FILE, scaledUIacidAbsorbed);
+            hud.setGlobalConfig(GLOBAL_HEALTH_CONFIG, 2);
+            hud.setGlobalConfig(HEALTH_CONFIG_FILE, scaledUIrampHealth.intValue());
+            hud.setConfigByFile(ABSORBED_CONFIG_FILE, scaledUIacidAbsorbed);
         });
     }
 
@@ -122,34 +112,42 @@ public final class AraxxorInterfaces {
 
     /**
      * Responsbile for sending (in dark mode) the lighting overlay interface.
+     * If the overlay is already open, only the lighting is updated.
+     * @param fight the fight the player is in
      * @param player the player to send the overlay to
      */
-    static void sendDarkness(Player player) {
+    static void sendDarkness(AraxxorFight fight, Player player) {
+        if(fight.hudOf(player).isSecondaryOverlayOpen(601)) {
+            updateLighting(fight, player, DARK);
+            return;
+        }
         for (int i = 2; i < 12; i++)
             player.getPackets().sendHideIComponent(601, i, true);
-        player.getInterfaceManager().closeSecondaryOverlay();
-        CoresManager.getServiceProvider().executeWithDelay(() -> {
-            player.getInterfaceManager().sendSecondaryOverlay(601);
-            updateLighting(player, DARK);
+        fight.hudOf(player).closeSecondaryOverlay();
+        fight.getScheduler().schedule(() -> {
+            fight.hudOf(player).openSecondaryOverlay(601);
+            updateLighting(fight, player, DARK);
         }, 2);
 
     }
 
     /**
      * Updates the lighting overlay interface with the specified
-     * brightness (config).
+     * brightness (config). A brightness is sent with the fight's next
+     * HUD flush, and only if it differs from the player's current one.
+     * @param fight the fight the player is in
      * @param player the player whose interface should be updated
      * @param config the brightness level
      * @see AraxxorInterfaces#DARK
      * @see AraxxorInterfaces#LIGHT
      * @see AraxxorInterfaces#RED
      */
-    static void updateLighting(Player player, int config) {
+    static void updateLighting(AraxxorFight fight, Player player, int config) {
         if(config == RED) {
-            player.getInterfaceManager().closeSecondaryOverlay();
-            player.getInterfaceManager().sendSecondaryOverlay(1140);
+            fight.hudOf(player).closeSecondaryOverlay();
+            fight.hudOf(player).openSecondaryOverlay(1140);
         } else {
-            player.getPackets().sendGlobalConfig(1435, config);
+            fight.hudOf(player).setGlobalConfig(1435, config);
         }
 
     }
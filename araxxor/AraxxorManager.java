@@ -3,8 +3,7 @@ package com.rs.game.player.content.araxxor;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
-import com.rs.cores.CoresManager;
-import com.rs.cores.FixedLengthRunnable;
+import com.rs.game.instance.InstanceTask;
 import com.rs.game.player.Player;
 import com.rs.utils.Colors;
 import com.rs.utils.Logger;
@@ -91,6 +90,7 @@ public final class AraxxorManager {
             OFF_PATH = AraxxorEnvironment.Paths.LIGHT;
         }
 
+        AraxxorInstancePool.start();
         Logger.log(Logger.DEBUG, "AraxxorManager initialized.");
     }
 
@@ -102,8 +102,8 @@ public final class AraxxorManager {
      * Safely finish the final internal steps of an {@link AraxxorFight}.<br/>
      * Send the players a congratulatory message, informing them of their new Araxxor
      * kill count, and warn them they have 3 minutes left to loot the corpse and leave
-     * the instance. Starts a {@link FixedLengthRunnable} to perform player removal
-     * if necessary after 3 minutes.
+     * the instance. Schedules an {@link InstanceTask} on the fight's scheduler, running
+     * every 30 seconds, to perform player removal if necessary after 3 minutes.
      * @param fight the fight instance to process and finish
      */
     static void process(AraxxorFight fight) {
@@ -112,35 +112,33 @@ public final class AraxxorManager {
             p.sendMessage(Colors.GREEN + "Nice kill! Your Araxxor kill count is now " + p.getRaxKC() + ".");
             p.sendMessage(Colors.GREEN + "You have 3 minutes to claim your loot and exit before you are forcefully removed.");
         });
-        CoresManager.getServiceProvider().scheduleFixedLengthTask(new FixedLengthRunnable() {
+        fight.getScheduler().schedule(new InstanceTask() {
 
             int time = 0;
 
             @Override
-            public boolean repeat() {
-                if(fight.shuttingDown())
-                    return false;
-                if(time == 180) {
-                    fight.getPlayers().forEach(fight::safeRemovePlayer);
-                    return false;
-                } else if(time == 60) {
+            public void run() {
+                if(time == 6) {
+                    new ArrayList<>(fight.getPlayers()).forEach(fight::safeRemovePlayer);
+                    stop();
+                    return;
+                } else if(time == 2) {
                     fight.notifyPlayers(Colors.GREEN + "You have 2 minutes " +
                             "to claim your loot and exit " +
                             "before you are forcefully removed.");
-                } else if(time == 120) {
+                } else if(time == 4) {
                     fight.notifyPlayers(Colors.YELLOW + "You have 1 minute " +
                             "to claim your loot and exit " +
                             "before you are forcefully removed.");
-                } else if(time == 150) {
+                } else if(time == 5) {
                     fight.notifyPlayers(Colors.RED + "You have 30 seconds" +
                             "to claim your loot and exit " +
                             "before you are forcefully removed.</col>");
                 }
                 time++;
-                return true;
             }
 
-        }, 0, 1);
+        }, 0, 49);
     }
 
     static void generateFight(List<Player> players) {
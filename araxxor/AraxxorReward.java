@@ -1,13 +1,14 @@
 package com.rs.game.player.content.araxxor;
 
-import com.rs.game.World;
+import com.rs.game.instance.InstanceRandom;
 import com.rs.game.item.Item;
 import com.rs.game.item.ItemsContainer;
 import com.rs.utils.Colors;
 import com.rs.utils.Utils;
+import com.rs.utils.WeightedSampler;
+import com.rs.utils.WorldAnnouncer;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Utility class wrapper around the Rewards drop table for Araxxor.
@@ -22,20 +23,29 @@ import java.util.stream.Collectors;
  */
 final class AraxxorReward {
 
+    /** The ids of the rewards announced to the world. */
+    private static final BitSet RARE_IDS = new BitSet();
+
+    static {
+        for(Rewards rare : EnumSet.of(Rewards.WEB, Rewards.EYE, Rewards.FANG, Rewards.SPIDER_LEG_TOP,
+                Rewards.SPIDER_LEG_MIDDLE, Rewards.SPIDER_LEG_BOTTOM))
+            RARE_IDS.set(rare.item.getId());
+        RARE_IDS.set(33870);
+    }
+
     private final ItemsContainer<Item> rewards;
     private boolean worldNotified;
 
-    AraxxorReward() {
+    AraxxorReward(InstanceRandom random) {
         int remaining = 5;
         rewards = new ItemsContainer<>(5, false);
-        if(Math.random() < 0.1) {
+        if(random.nextDouble() < 0.1) {
             rewards.add(new Item(33870, 1));
             remaining--;
         }
-        rewards.add(new Item(31737, Utils.random(70, 90)));
+        rewards.add(new Item(31737, random.random(70, 90)));
         remaining--;
-        Set<Item> randomItems = Rewards.fill(remaining);
-        randomItems.forEach(rewards::add);
+        Rewards.fill(rewards, remaining, random);
     }
 
     Item[] getItems() {
@@ -72,21 +82,17 @@ final class AraxxorReward {
     }
 
     private boolean containsRareReward() {
-        return Arrays.stream(rewards.getItems()).anyMatch(i ->
-            i.getId() == Rewards.WEB.item.getId()               ||
-            i.getId() == Rewards.EYE.item.getId()               ||
-            i.getId() == Rewards.FANG.item.getId()              ||
-            i.getId() == Rewards.SPIDER_LEG_TOP.item.getId()    ||
-            i.getId() == Rewards.SPIDER_LEG_MIDDLE.item.getId() ||
-            i.getId() == Rewards.SPIDER_LEG_BOTTOM.item.getId() ||
-            i.getId() == 33870
-        );
+        for(Item item : rewards.getItems()) {
+            if(item != null && RARE_IDS.get(item.getId()))
+                return true;
+        }
+        return false;
     }
 
     void notifyWorld(String displayName) {
         if(!worldNotified && containsRareReward())
-            World.sendWorldMessage(Colors.GREEN + displayName + " just received a rare drop " +
-                    "from Araxxi's corpse!", false);
+            WorldAnnouncer.publish(Colors.GREEN + displayName + " just received a rare drop " +
+                    "from Araxxi's corpse!");
         worldNotified = true;
     }
 
@@ -132,25 +138,21 @@ final class AraxxorReward {
             this.weight = weight;
         }
 
-        private static Set<Item> fill(int remaining) {
-
-            List<Rewards> filler = new ArrayList<>();
-            Set<Rewards> rewards = new HashSet<>(remaining);
-
-            Arrays.stream(values()).forEach(r -> {
-                for (int i = 0; i < r.weight; i++)
-                    filler.add(r);
-            });
-
-            Collections.shuffle(filler);
-
-            int i = 0;
-            while (rewards.size() < remaining)
-                rewards.add(filler.get(i++));
-
-            return rewards.stream()
-                          .map(r -> r.item)
-                          .collect(Collectors.toSet());
+        /** The drop table, compiled once. */
+        private static final WeightedSampler<Rewards> TABLE = new WeightedSampler<>(values(), r -> r.weight);
+
+        /**
+         * Adds {@code remaining} distinct rewards to the container, drawn by weight
+         * without replacement.
+         * @param container the reward container to fill
+         * @param remaining the number of distinct rewards to add
+         * @param random the fight's random stream
+         */
+        private static void fill(ItemsContainer<Item> container, int remaining, InstanceRandom random) {
+            final int[] drawn = new int[remaining];
+            TABLE.sampleDistinct(random.getSource(), drawn, remaining);
+            for (int i = 0; i < remaining; i++)
+                container.add(TABLE.get(drawn[i]).item);
         }
     }
 
@@ -1,8 +1,8 @@
 package com.rs.game.player.content.araxxor;
 
-import com.rs.cores.CoresManager;
-import com.rs.cores.FixedLengthRunnable;
 import com.rs.game.*;
+import com.rs.game.instance.HazardGrid;
+import com.rs.game.instance.InstanceTask;
 import com.rs.game.npc.combat.CombatScript;
 import com.rs.game.player.Player;
 import com.rs.utils.Utils;
@@ -19,11 +19,13 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * @author David O'Neill (dlo3)
  * @since 1.0 (alpha, 08/12/2017)
  */
-final class LightPathMechanic extends FixedLengthRunnable {
+final class LightPathMechanic extends InstanceTask {
 
     private int tick;
     private WorldTile lightTile;
-    private Map<Player, List<Hit>> hitsTaken;
+    private Player[] roster;
+    private int[] darknessDamage;
+    private int[] healOwed;
     private List<WorldTile> eggDrops;
     private List<WorldObject> eggs;
     private int projectileDuration = 0;
@@ -38,26 +40,24 @@ final class LightPathMechanic extends FixedLengthRunnable {
     LightPathMechanic(AraxxorFight fight) {
         this.fight = fight;
         this.config = this.fight.getConfig();
-        duration = Utils.random(75, 150);
+        duration = fight.getRandom().random(75, 150);
         lightTile = config.generateLightTile();
-        hitsTaken = new HashMap<>();
         tick = 0;
         currentDamage = 25;
     }
 
     @Override
-    public boolean repeat() {
-        if(fight.shuttingDown())
-            return false;
+    public void run() {
         if(tick == 0) {
-            fight.getPlayers().forEach(player -> {
-                hitsTaken.put(player, new ArrayList<>());
-                player.sendMessage("Araxxor flees to the ceiling!");
-            });
-            World.spawnObject(new WorldObject(91665, 10, 0, lightTile));
-            World.spawnObject(new WorldObject(91664, 10, 0, new WorldTile(lightTile.getX(),
+            roster = fight.getPlayers().toArray(new Player[0]);
+            darknessDamage = new int[roster.length];
+            healOwed = new int[roster.length];
+            fight.getPlayers().forEach(player -> player.sendMessage("Araxxor flees to the ceiling!"));
+            config.spawnObject(new WorldObject(91665, 10, 0, lightTile));
+            config.spawnObject(new WorldObject(91664, 10, 0, new WorldTile(lightTile.getX(),
                     lightTile.getY() + 1, lightTile.getPlane())));
-            fight.getBoss().setNextAnimation(new Animation(24056));
+            config.setLightBeam(lightTile, true);
+            fight.getBoss().setNextAnimation(AraxxorEffects.CLIMB);
             fight.getBoss().setTarget(null);
             fight.getBoss().setCantInteract(true);
             fight.getBoss().setForceAgressive(false);
@@ -76,14 +76,16 @@ final class LightPathMechanic extends FixedLengthRunnable {
         if(tick % 5 == 0) {
             fight.getPlayers().forEach(p -> {
                 if(p != null && !p.isDead() && !p.hasFinished()) {
+                    final int damage = fight.getRandom().random(50, 300);
                     NewProjectile projectile = new NewProjectile(
-                            new WorldTile(p, 4),
+                            fight.getRandom().tileNear(p, 4),
                             p, attackTypeFlag ? 4979 : 4997, 25,
                             25, 0, 35,
                             15, 0);
                     World.sendProjectile(projectile);
-                    CoresManager.getServiceProvider().executeWithDelay(() ->
-                            p.applyHit(new Hit(fight.getBoss(), Utils.random(50, 300),
+                    // The flight time in ticks, as Araxxi's sludge counts it for its world task.
+                    fight.getScheduler().schedule(() ->
+                            p.applyHit(new Hit(fight.getBoss(), damage,
                                 attackTypeFlag ?
                                         Hit.HitLook.MAGIC_DAMAGE :
                                         Hit.HitLook.RANGE_DAMAGE)),
@@ -93,49 +95,52 @@ final class LightPathMechanic extends FixedLengthRunnable {
             });
         }
         if(tick % 2 == 0) {
-            fight.getPlayers().forEach(player -> {
+            final List<Player> players = fight.getPlayers();
+            for(int i = 0; i < players.size(); i++) {
+                final Player player = players.get(i);
                 if(player != null && !player.isDead() && !player.hasFinished()) {
-                    if(!config.onLightTile(player, lightTile)) {
-                        Hit hit = new Hit(fight.getBoss(),
-                                currentDamage+=2, Hit.HitLook.DESEASE_DAMAGE);
-                        player.applyHit(hit);
-                        hitsTaken.get(player).add(hit);
-                        AraxxorInterfaces.updateLighting(player, AraxxorInterfaces.DARK);
+                    final int slot = slotOf(player);
+                    if(!config.onLightTile(player)) {
+                        final int damage = currentDamage+=2;
+                        player.applyHit(new Hit(fight.getBoss(), damage, Hit.HitLook.DESEASE_DAMAGE));
+                        if(slot != -1) {
+                            darknessDamage[slot] += damage;
+                            healOwed[slot] += (int) (damage * fight.getRandom().random(0.15, 0.5));
+                        }
+                        AraxxorInterfaces.updateLighting(fight, player, AraxxorInterfaces.DARK);
                     }
                     else {
-                        AraxxorInterfaces.updateLighting(player, AraxxorInterfaces.LIGHT);
+                        AraxxorInterfaces.updateLighting(fight, player, AraxxorInterfaces.LIGHT);
                         currentDamage = 25;
-                        final List<Hit> hits = hitsTaken.get(player);
-                        if(hits != null) {
-                            player.getPackets().sendGlobalConfig(1435, 150);
-                            hits.forEach(hit -> {
-                                int baseDamage = hit.getDamage();
-                                Double scaled = (double) baseDamage * Utils.random(0.15, 0.5);
-                                player.applyHit(new Hit(null, scaled.intValue(), Hit.HitLook.HEALED_DAMAGE));
-                            });
-                            hitsTaken.get(player).clear();
+                        if(slot != -1 && darknessDamage[slot] != 0) {
+                            if(healOwed[slot] != 0)
+                                player.applyHit(new Hit(null, healOwed[slot], Hit.HitLook.HEALED_DAMAGE));
+                            darknessDamage[slot] = 0;
+                            healOwed[slot] = 0;
                         }
                     }
                 }
-            });
+            }
         }
         if(tick % 25 == 0) {
-            World.removeObject(World.getObject(lightTile));
-            World.removeObject(World.getObject(new WorldTile(lightTile.getX(),
+            config.removeObject(World.getObject(lightTile));
+            config.removeObject(World.getObject(new WorldTile(lightTile.getX(),
                     lightTile.getY() + 1, lightTile.getPlane())));
+            config.setLightBeam(lightTile, false);
             lightTile = config.generateLightTile();
+            config.setLightBeam(lightTile, true);
             fight.getPlayers().forEach(player -> {
                 if(player.getTileHash() != lightTile.getTileHash())
-                    AraxxorInterfaces.updateLighting(player, AraxxorInterfaces.DARK);
+                    AraxxorInterfaces.updateLighting(fight, player, AraxxorInterfaces.DARK);
             });
-            World.spawnObject(new WorldObject(91665, 10, 0, lightTile));
-            World.spawnObject(new WorldObject(91664, 10, 0, new WorldTile(lightTile.getX(),
+            config.spawnObject(new WorldObject(91665, 10, 0, lightTile));
+            config.spawnObject(new WorldObject(91664, 10, 0, new WorldTile(lightTile.getX(),
                     lightTile.getY() + 1, lightTile.getPlane())));
         }
-        if(tick % 15 == 0 && Utils.random(5) == 0) {
+        if(tick % 15 == 0 && fight.getRandom().random(5) == 0) {
             continueFlag = true;
-            Player target = fight.getPlayers().get(Utils.random(fight.getPlayers().size()));
-            WorldTile fromTile = new WorldTile(target, 5);
+            Player target = fight.getRandom().pick(fight.getPlayers());
+            WorldTile fromTile = fight.getRandom().tileNear(target, 5);
             eggDrops = Arrays.asList(fight.getConfig().generateEggGrid(target, 3));
             NewProjectile projectile = new NewProjectile(fromTile,
                     target, 5073, 40, 40, 10, NewProjectile.DEFAULT_DELAY);
@@ -145,17 +150,18 @@ final class LightPathMechanic extends FixedLengthRunnable {
             if(projectileDuration < 2)
                 projectileDuration+=(2 - projectileDuration);
             World.sendProjectile(projectile);
-            eggDrops.forEach(tile -> World.sendGraphics(null, new Graphics(5009), tile));
+            eggDrops.forEach(tile -> World.sendGraphics(null, AraxxorEffects.EGG_LANDING, tile));
         } else if (continueFlag && (tick % 15) - 1 == 0) {
             eggs = new ArrayList<>();
             eggDrops.forEach(tile -> {
                 WorldObject o = new WorldObject(91636, 10, 0, tile);
                 eggs.add(o);
-                World.spawnObject(o);
+                config.spawnObject(o);
+                config.getHazards().set(tile, HazardGrid.EGG);
             });
             fight.getConfig().unclipTiles(eggDrops);
         } else if(continueFlag && (projectileDuration == 0 ? 1 : ((tick % 15) - projectileDuration)) == 0) {
-            fight.getBoss().setTarget(fight.getPlayers().get(Utils.random(fight.getPlayers().size())));
+            fight.getBoss().setTarget(fight.getRandom().pick(fight.getPlayers()));
             boolean blowUp = false;
             for(Player target : fight.getPlayers()) {
                 if(target != null && !target.isDead() && !target.hasFinished()) {
@@ -176,33 +182,45 @@ final class LightPathMechanic extends FixedLengthRunnable {
                 }
             }
             for(WorldObject egg : eggs) {
-                World.removeObject(egg);
-                World.sendGraphics(null, new Graphics(blowUp ? 5010 : 5008), egg);
+                config.removeObject(egg);
+                config.getHazards().clear(egg, HazardGrid.EGG);
+                World.sendGraphics(null, blowUp ? AraxxorEffects.EGG_BLOW_UP : AraxxorEffects.EGG_FIZZLE, egg);
             }
             continueFlag = false;
         }
         if(tick == duration) {
             fight.callChargeCutscene();
-            World.removeObject(World.getObject(lightTile));
-            World.removeObject(World.getObject(new WorldTile(lightTile.getX(),
+            config.removeObject(World.getObject(lightTile));
+            config.removeObject(World.getObject(new WorldTile(lightTile.getX(),
                     lightTile.getY() + 1, lightTile.getPlane())));
+            config.setLightBeam(lightTile, false);
             eggDrops.forEach(tile -> {
                 WorldObject obj = World.getObject(tile);
                 if(obj != null) {
-                    World.removeObject(obj);
-                    World.sendGraphics(null, new Graphics(5008), tile);
+                    config.removeObject(obj);
+                    World.sendGraphics(null, AraxxorEffects.EGG_FIZZLE, tile);
                 }
-
+                config.getHazards().clear(tile, HazardGrid.EGG);
             });
-            return false;
+            stop();
+            return;
         }
         tick++;
-        return true;
+    }
+
+    /**
+     * Returns a player's slot in the roster taken when the light
+     * phase started, or -1 if the player joined after it started.
+     */
+    private int slotOf(Player player) {
+        for(int slot = 0; slot < roster.length; slot++) {
+            if(roster[slot] == player)
+                return slot;
+        }
+        return -1;
     }
 
     private boolean targetOnEggs(Player target) {
-        return eggDrops
-                .stream()
-                .anyMatch(tile -> tile.getTileHash() == target.getTileHash());
+        return config.getHazards().has(target, HazardGrid.EGG);
     }
 }
@@ -2,8 +2,11 @@ package com.rs.game.player.content.araxxor.npcs;
 
 import com.rs.cache.loaders.AnimationDefinitions;
 import com.rs.game.*;
+import com.rs.game.instance.HazardGrid;
+import com.rs.game.instance.InstanceTask;
 
 import com.rs.game.player.Player;
+import com.rs.game.player.content.araxxor.AraxxorEffects;
 import com.rs.game.player.content.araxxor.AraxxorEnvironment;
 import com.rs.game.player.content.araxxor.AraxxorFight;
 import com.rs.game.player.content.araxxor.AraxxorInterfaces;
@@ -55,7 +58,7 @@ public final class Araxxi extends Araxyte {
         setRun(true);
         this.specials = generateSpecials(this.fight);
         unusedSpecials = new ArrayList<>(specials);
-        AraxxorInterfaces.updateBossHealthInterface(fight.getPlayers(), this);
+        AraxxorInterfaces.updateBossHealthInterface(fight, this);
     }
 
     /**
@@ -84,7 +87,7 @@ public final class Araxxi extends Araxyte {
      */
     @Override
     int performSpecial() {
-        Specials randomSpecial = unusedSpecials.get(Utils.random(unusedSpecials.size()));
+        Specials randomSpecial = fight.getRandom().pick(unusedSpecials);
         unusedSpecials.remove(randomSpecial);
         if(unusedSpecials.isEmpty())
             unusedSpecials.addAll(specials);
@@ -163,7 +166,7 @@ public final class Araxxi extends Araxyte {
      */
     @Override
     public void processHit(Hit hit) {
-        if(Utils.random(3) == 0 && enrage < 300)
+        if(fight.getRandom().random(3) == 0 && enrage < 300)
             enrage += 5;
         super.processHit(hit);
     }
@@ -189,7 +192,7 @@ public final class Araxxi extends Araxyte {
         setTarget(null);
         if (source instanceof Player)
             source.deathResetCombat();
-        setNextAnimation(new Animation(-1));
+        setNextAnimation(AraxxorEffects.RESET_ANIMATION);
         WorldTasksManager.schedule(new WorldTask() {
             int loop;
             final byte[] dir = Utils.getDirection(Araxxi.this.getDirection());
@@ -198,9 +201,9 @@ public final class Araxxi extends Araxyte {
             @Override
             public void run() {
                 if (loop == 0)
-                    setNextAnimation(new Animation(24106));
+                    setNextAnimation(AraxxorEffects.ARAXXI_DEATH);
                 else if(loop == AnimationDefinitions.getAnimationDefinitions(24106).getEmoteTime() / 600) {
-                    World.spawnObject(new WorldObject(91673, 10, rot,
+                    fight.getConfig().spawnObject(new WorldObject(91673, 10, rot,
                             new WorldTile(Araxxi.this)));
                     Araxxi.this.reset();
                     Araxxi.this.finish();
@@ -222,7 +225,7 @@ public final class Araxxi extends Araxyte {
      * @param player the target for this method invocation
      */
     private void performSludge(Player player) {
-        WorldTasksManager.schedule(new WorldTask() {
+        fight.getScheduler().schedule(new InstanceTask() {
 
             int tick = 0;
             int bounces = 0;
@@ -238,16 +241,17 @@ public final class Araxxi extends Araxyte {
 
             private void generateBouncePath() {
                 int gSize = fight.getPlayers().size();
-                bounces = Utils.random(3, 5);
+                bounces = fight.getRandom().random(3, 5);
                 bounceLocations = new WorldTile[bounces];
                 delays = new int[bounces];
                 projectiles = new NewProjectile[bounces];
                 for(int i = 0; i < bounces; i++) {
                     WorldTile tile = null;
                     while(tile == null) {
-                        tile = new WorldTile(fight.getPlayers().get(Utils.random(gSize)), 4);
+                        tile = fight.getRandom().tileNear(fight.getPlayers().get(fight.getRandom().random(gSize)), 4);
                         if(!World.canMoveNPC(tile.getPlane(),
-                                tile.getX(), tile.getY(), 1))
+                                tile.getX(), tile.getY(), 1) ||
+                                fight.getConfig().getHazards().has(tile, HazardGrid.RESERVED))
                             tile = null;
                     }
                     bounceLocations[i] = tile;
@@ -263,10 +267,6 @@ public final class Araxxi extends Araxyte {
 
             @Override
             public void run() {
-                if(fight.shuttingDown()) {
-                    stop();
-                    return;
-                }
                 if(Araxxi.this.isDead() || Araxxi.this.hasFinished()) {
                     stop();
                     return;
@@ -291,14 +291,14 @@ public final class Araxxi extends Araxyte {
                     finalStart = tick;
                     finalDelay = finalProjectile.getTime() / 335;
                     World.sendProjectile(finalProjectile);
-                    fight.getPlayers().forEach(p -> p.setNextGraphics(new Graphics(5014)));
+                    fight.getPlayers().forEach(p -> p.setNextGraphics(AraxxorEffects.SLUDGE_WARNING));
                 }
                 if(finalProjectile != null && tick == finalStart + finalDelay) {
                     if(target.withinDistance(finalProjectile.getTo(), 2)) {
                         fight.getPlayers().forEach(p -> {
                             p.applyHit(new Hit(Araxxi.this,
                                     p == target ? 250 : 150, Hit.HitLook.POISON_DAMAGE));
-                            p.setNextGraphics(new Graphics(5017));
+                            p.setNextGraphics(AraxxorEffects.SLUDGE_SPLASH);
                         });
                     }
                     sludge = false;
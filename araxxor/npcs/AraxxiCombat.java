@@ -5,6 +5,7 @@ import com.rs.game.npc.NPC;
 import com.rs.game.npc.combat.CombatScript;
 import com.rs.game.npc.combat.NPCCombatDefinitions;
 import com.rs.game.player.Player;
+import com.rs.game.player.content.araxxor.AraxxorEffects;
 import com.rs.game.player.content.araxxor.AraxxorFight;
 import com.rs.utils.Logger;
 import com.rs.utils.Utils;
@@ -65,7 +66,7 @@ public class AraxxiCombat extends CombatScript {
                 getRandomMaxHit(araxxi, defs.getMaxHit(), NPCCombatDefinitions.MELEE, target));
         Hit scaledHit = araxxi.scaleBaseHit(target, unscaledHit.getDamage(), unscaledHit.getLook());
         if(scaledHit != null) {
-            araxxi.setNextAnimation(new Animation(24094));
+            araxxi.setNextAnimation(AraxxorEffects.MELEE);
             delayHit(araxxi, 0, target, scaledHit);
         }
     }
@@ -85,12 +86,12 @@ public class AraxxiCombat extends CombatScript {
                 Hit unscaledHit = getMagicHit(araxxi, Math.round(dmg));
                 Hit scaledHit = araxxi.scaleBaseHit(entity, unscaledHit.getDamage(), unscaledHit.getLook());
                 World.sendProjectile(araxxi.getMiddleWorldTile(), entity,4979, 60, 30, 45, 0, 5, 200);
-                World.sendGraphics(araxxi, new Graphics(4980), entity);
+                World.sendGraphics(araxxi, AraxxorEffects.MAGIC_IMPACT, entity);
                 delayHit(araxxi, 2, entity, scaledHit);
             }
         }
-        araxxi.setNextAnimation(new Animation(24047));
-        araxxi.setNextGraphics(new Graphics(4988, 0, 180));
+        araxxi.setNextAnimation(AraxxorEffects.CAST);
+        araxxi.setNextGraphics(AraxxorEffects.CAST_GRAPHICS);
     }
     private void rangeAutoAttack(Araxxi araxxi, Entity trueTarget,
                                  List<Entity> possibleTargets, NPCCombatDefinitions defs) {
@@ -107,12 +108,12 @@ public class AraxxiCombat extends CombatScript {
                 Hit unscaledHit = getRangeHit(araxxi, Math.round(totalDamage));
                 Hit scaledHit = araxxi.scaleBaseHit(entity, unscaledHit.getDamage(), unscaledHit.getLook());
                 World.sendProjectile(araxxi.getMiddleWorldTile(), entity, 4997, 60, 30, 45, 0, 5, 200);
-                World.sendGraphics(araxxi, new Graphics(4993), entity);
+                World.sendGraphics(araxxi, AraxxorEffects.RANGE_IMPACT, entity);
                 delayHit(araxxi, 1, entity, scaledHit);
                 entity.getPoison().makePoisoned(150);
             }
         }
-        araxxi.setNextAnimation(new Animation(24047));
-        araxxi.setNextGraphics(new Graphics(4988, 0, 180));
+        araxxi.setNextAnimation(AraxxorEffects.CAST);
+        araxxi.setNextGraphics(AraxxorEffects.CAST_GRAPHICS);
     }
 }
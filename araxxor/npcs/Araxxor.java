@@ -4,22 +4,21 @@ import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-import com.rs.cores.CoresManager;
 import com.rs.game.Animation;
 import com.rs.game.Entity;
-import com.rs.game.Graphics;
 import com.rs.game.Hit;
 import com.rs.game.NewProjectile;
 import com.rs.game.World;
 import com.rs.game.WorldObject;
 import com.rs.game.WorldTile;
+import com.rs.game.instance.HazardGrid;
+import com.rs.game.instance.InstanceTask;
 import com.rs.game.player.Player;
+import com.rs.game.player.content.araxxor.AraxxorEffects;
 import com.rs.game.player.content.araxxor.AraxxorEnvironment;
 import com.rs.game.player.content.araxxor.AraxxorFight;
 import com.rs.game.player.content.araxxor.AraxxorInterfaces;
 import com.rs.game.player.content.araxxor.AraxxorManager;
-import com.rs.game.tasks.WorldTask;
-import com.rs.game.tasks.WorldTasksManager;
 import com.rs.utils.Logger;
 import com.rs.utils.Utils;
 
@@ -111,7 +110,8 @@ public final class Araxxor extends Araxyte {
      * in the {@link AraxxorFight}.
      *
      * If there are Mirrorback minions present in the fight, 100% of all damage dealt (this damage is also
-     * scaled with enrage) will be reflected back to the attacker.
+     * scaled with enrage) will be reflected back to the attacker, summed with the rest of the tick's
+     * reflected damage.
      *
      * If the fight is not yet in phase two, and the incoming hit would bring Araxxor below 25% health,
      * he will be unharmed.
@@ -126,15 +126,13 @@ public final class Araxxor extends Araxyte {
         if(!(hit.getSource() instanceof AraxyteMinion) &&
                 minions != null && !minions.isEmpty() &&
                 minionFactory.getLastSpawnedMinionType() == AraxyteMinion.MinionType.MIRRORBACK) {
-            Entity attacker = hit.getSource();
-            Hit scaledHit = scaleBaseHit(attacker, hit.getDamage(), Hit.HitLook.REFLECTED_DAMAGE);
-            attacker.applyHit(scaledHit);
+            reflected.toAttacker(hit.getSource(), scaleBaseDamage(hit.getDamage()));
         } else {
             if(fight.getPhase() < 2 && getHitpoints() - hit.getDamage() <= 0.25 * getMaxHitpoints()) {
                 if(!playersNotified) {
                     playersNotified = true;
                     fight.notifyPlayersMsgBox("The spiders above refuse to let Araxxor die!");
-                    CoresManager.getServiceProvider().executeWithDelay(() ->
+                    fight.getScheduler().schedule(() ->
                             playersNotified = false, 20, TimeUnit.SECONDS);
                 }
                 return;
@@ -149,7 +147,7 @@ public final class Araxxor extends Araxyte {
             }
             Entity source = hit.getSource();
             if(source instanceof Player) {
-                if(Utils.random(5) == 0) {
+                if(fight.getRandom().random(5) == 0) {
                     int currentEnrage = ((Player) source).getAraxxorEnrage();
                     if(currentEnrage < 300) {
                         ((Player) source).addAraxxorEnrage(1);
@@ -237,7 +235,7 @@ public final class Araxxor extends Araxyte {
     void performMinionSpawn() {
         super.performMinionSpawn();
         minionSpawns++;
-        int ticksToNext = Utils.random(2, 5);
+        int ticksToNext = fight.getRandom().random(2, 5);
         int carryOver = (globalAttackTick + ticksToNext) % 5;
         nextMinionSpawn = carryOver > 0 ? carryOver :
                 (globalAttackTick + ticksToNext);
@@ -270,7 +268,7 @@ public final class Araxxor extends Araxyte {
             if(fight.getConfig().getActivePath() != AraxxorEnvironment.Paths.MINIONS)
                 sentEggBomb = false;
         }
-        Specials randomSpecial = unusedSpecials.get(Utils.random(unusedSpecials.size()));
+        Specials randomSpecial = fight.getRandom().pick(unusedSpecials);
         unusedSpecials.remove(randomSpecial);
         switch (randomSpecial) {
             case CLEAVE:
@@ -319,7 +317,7 @@ public final class Araxxor extends Araxyte {
                     (special == Specials.COCOON)
             );
         }
-        Collections.shuffle(unusedSpecials);
+        fight.getRandom().shuffle(unusedSpecials);
     }
 
     /**
@@ -336,45 +334,34 @@ public final class Araxxor extends Araxyte {
      * If the acidic spider doesn't reach the player, it will die off.
      */
     private void performInstakillSpiderSpawn() {
-        setNextAnimation(new Animation(24094));
-        WorldTasksManager.schedule(new WorldTask() {
+        setNextAnimation(AraxxorEffects.MELEE);
+        fight.getScheduler().schedule(new InstanceTask() {
 
             int tick = 0;
             List<WorldTile> acidPools;
             List<InstakillMinion> acidSpiders;
 
             private void pickLocations() {
+                final HazardGrid hazards = fight.getConfig().getHazards();
                 acidPools = new ArrayList<>();
                 while (acidPools.size() < fight.getPlayers().size()) {
                     fight.getPlayers().forEach(player -> {
-                        WorldTile tile = new WorldTile(player, 4);
-                        if (verifyAllTileHashes(tile, player) &&
-                                World.canMoveNPC(tile.getPlane(), tile.getX(), tile.getY(), 1) &&
-                                !acidPools.contains(tile))
+                        WorldTile tile = fight.getRandom().tileNear(player, 4);
+                        if (tile.getTileHash() != player.getTileHash() &&
+                                !hazards.has(tile, HazardGrid.RESERVED | HazardGrid.ACID) &&
+                                World.canMoveNPC(tile.getPlane(), tile.getX(), tile.getY(), 1)) {
+                            hazards.set(tile, HazardGrid.ACID);
                             acidPools.add(tile);
+                        }
                     });
                 }
             }
 
-            private boolean verifyAllTileHashes(WorldTile tile, Player player) {
-                final int hash = tile.getTileHash();
-                return hash != fight.getConfig().getRampReference().getTileHash() &&
-                       hash != player.getTileHash();
-            }
-
-            private boolean checkShutdown() {
-                boolean shutdown = fight.shuttingDown();
-                if (shutdown) stop();
-                return shutdown;
-            }
-
             @Override
             public void run() {
-                if(checkShutdown())
-                    return;
                 if(tick == 0) {
                     pickLocations();
-                    acidPools.forEach(location -> World.spawnObject(new WorldObject(91671, 10, 0, location)));
+                    acidPools.forEach(location -> fight.getConfig().spawnObject(new WorldObject(91671, 10, 0, location)));
                     fight.getPlayers().forEach(p -> p.getPackets().sendPlayerMessageBox("A highly " +
                             "acidic spider is about to spawn nearby!"));
                 } else if(tick == 5) {
@@ -403,11 +390,13 @@ public final class Araxxor extends Araxyte {
                 } else if(tick >= 8) {
                     acidSpiders.forEach(spider -> {
                         spider.resetWalkSteps();
-                        spider.setNextGraphics(new Graphics(5007));
+                        spider.setNextGraphics(AraxxorEffects.SPIDER_DEATH);
                         spider.sendDeath(spider.getKillTarget());
                     });
-                    acidPools.forEach(location -> World.removeObject(World.getObject(new
-                            WorldTile(location.getX(), location.getY(), location.getPlane()))));
+                    acidPools.forEach(location -> {
+                        fight.getConfig().removeObject(World.getObject(location));
+                        fight.getConfig().getHazards().clear(location, HazardGrid.ACID);
+                    });
                     stop();
                 }
                 tick++;
@@ -432,8 +421,8 @@ public final class Araxxor extends Araxyte {
         sentEggBomb = true;
         final List<WorldTile> eggDrops = Arrays.asList(
                 fight.getConfig().generateEggGrid(eggBombTarget =
-                        fight.getPlayers().get(Utils.random(fight.getPlayers().size())), 5));
-        WorldTasksManager.schedule(new WorldTask() {
+                        fight.getRandom().pick(fight.getPlayers()), 5));
+        fight.getScheduler().schedule(new InstanceTask() {
 
             int tick = 0;
 
@@ -447,29 +436,21 @@ public final class Araxxor extends Araxyte {
             int duration = _duration < 2 ? 2 : _duration;
 
             private boolean targetOnEggs(Player target) {
-                return eggDrops.stream().anyMatch(tile ->
-                        target.getTileHash() == tile.getTileHash());
-            }
-
-            private boolean checkShutdown() {
-                boolean shutdown = fight.shuttingDown();
-                if (shutdown) stop();
-                return shutdown;
+                return fight.getConfig().getHazards().has(target, HazardGrid.EGG);
             }
 
             @Override
             public void run() {
-                if(checkShutdown())
-                    return;
                 if(tick == 0) {
-                    setNextAnimation(new Animation(24085));
+                    setNextAnimation(AraxxorEffects.EGG_BOMB);
                     World.sendProjectile(projectile);
-                    eggDrops.forEach(tile -> World.sendGraphics(null, new Graphics(5009), tile));
+                    eggDrops.forEach(tile -> World.sendGraphics(null, AraxxorEffects.EGG_LANDING, tile));
                 } else if(tick == 1) {
                     eggDrops.forEach(tile -> {
                         final WorldObject o  = new WorldObject(91636, 10, 0, tile);
                         eggs.add(o);
-                        World.spawnObject(o);
+                        fight.getConfig().spawnObject(o);
+                        fight.getConfig().getHazards().set(tile, HazardGrid.EGG);
                     });
                     fight.getConfig().unclipTiles(eggDrops);
                 } else if(tick == duration) {
@@ -491,8 +472,9 @@ public final class Araxxor extends Araxyte {
                         }
                     }
                     for(WorldObject egg : eggs) {
-                        World.removeObject(egg);
-                        World.sendGraphics(null, new Graphics(blowUp ? 5010 : 5008), egg);
+                        fight.getConfig().removeObject(egg);
+                        fight.getConfig().getHazards().clear(egg, HazardGrid.EGG);
+                        World.sendGraphics(null, blowUp ? AraxxorEffects.EGG_BLOW_UP : AraxxorEffects.EGG_FIZZLE, egg);
                     }
                     stop();
                 }
@@ -512,21 +494,13 @@ public final class Araxxor extends Araxyte {
      */
     private void drainAcid() {
         drainingAcid = true;
-        WorldTasksManager.schedule(new WorldTask() {
+        fight.getScheduler().schedule(new InstanceTask() {
 
             int tick = 0;
             final WorldTile rampReference = Araxxor.this.getFight().getConfig().getRampReference();
 
-            private boolean checkShutdown() {
-                boolean shutdown = fight.shuttingDown();
-                if (shutdown) stop();
-                return shutdown;
-            }
-
             @Override
             public void run() {
-                if(checkShutdown())
-                    return;
                 if(totalAbsorbedAcid == 0) {
                     Araxxor.this.transformIntoNPC(originalId);
                     drainingAcid = false;
@@ -540,16 +514,16 @@ public final class Araxxor extends Araxyte {
                     if(Araxxor.this.isOnRamp()) {
                         totalRampHealth -= (totalRampHealth - 4 < 0) ? totalRampHealth : 4;
                         totalAbsorbedAcid -= (totalAbsorbedAcid - 4 < 0) ? (totalAbsorbedAcid) : 4;
-                        AraxxorInterfaces.updateAcidInterface(fight.getPlayers(), totalRampHealth, totalAbsorbedAcid);
+                        AraxxorInterfaces.updateAcidInterface(fight, totalRampHealth, totalAbsorbedAcid);
                         if(World.getObject(rampReference).getId() != 91525) {
-                            World.spawnObject(new WorldObject(91525, 10, 0,
+                            fight.getConfig().spawnObject(new WorldObject(91525, 10, 0,
                                     rampReference.getX(), rampReference.getY(), 1));
                         }
                         if(totalRampHealth == 0) {
-                            World.spawnObject(new WorldObject(91526, 10, 0,
+                            fight.getConfig().spawnObject(new WorldObject(91526, 10, 0,
                                     fight.getConfig().relativeX(4536),
                                     fight.getConfig().relativeY(6260), 1));
-                            World.spawnObject(new WorldObject(91670, 10, 0,
+                            fight.getConfig().spawnObject(new WorldObject(91670, 10, 0,
                                     fight.getConfig().relativeX(4554),
                                     fight.getConfig().relativeY(6265), 1));
                             Araxxor.this.transformIntoNPC(originalId);
@@ -563,7 +537,7 @@ public final class Araxxor extends Araxyte {
                         }
                     } else {
                         totalAbsorbedAcid -= (totalAbsorbedAcid - 4 < 0) ? (totalAbsorbedAcid) : 4;
-                        AraxxorInterfaces.updateAcidInterface(fight.getPlayers(), totalRampHealth, totalAbsorbedAcid);
+                        AraxxorInterfaces.updateAcidInterface(fight, totalRampHealth, totalAbsorbedAcid);
                     }
                 }
                 tick++;
@@ -578,34 +552,26 @@ public final class Araxxor extends Araxyte {
     private void absorbAcid() {
         absorbingAcid = true;
         transformIntoNPC(Araxyte.ARAXXOR_NPC_ID_ACIDIC);
-        WorldTasksManager.schedule(new WorldTask() {
+        fight.getScheduler().schedule(new InstanceTask() {
 
             int tick = 0;
 
-            private boolean checkShutdown() {
-                boolean shutdown = fight.shuttingDown();
-                if (shutdown) stop();
-                return shutdown;
-            }
-
             @Override
             public void run() {
-                if(checkShutdown())
-                    return;
                 if(!isInAcidPool()) {
                     absorbingAcid = false;
                     stop();
                 } else {
                     if(tick == 0 && totalAbsorbedAcid == 0)
-                        AraxxorInterfaces.sendAcidInterface(fight.getPlayers());
+                        AraxxorInterfaces.sendAcidInterface(fight);
                     if(tick % 3 == 0 && totalAbsorbedAcid <= 100) {
                         totalAbsorbedAcid += (totalAbsorbedAcid + 5 >= 100) ? (100 - totalAbsorbedAcid) : 5;
-                        AraxxorInterfaces.updateAcidInterface(fight.getPlayers(), totalRampHealth, totalAbsorbedAcid);
+                        AraxxorInterfaces.updateAcidInterface(fight, totalRampHealth, totalAbsorbedAcid);
                     }
                     if(totalAbsorbedAcid >= 100) {
                         fight.getPlayers().forEach(player -> player.getPackets().sendPlayerMessageBox("Araxxor " +
                                 "has absorbed all the acid! Lure him to the ramp!"));
-                        CoresManager.getServiceProvider().executeWithDelay(() -> absorbingAcid = false,
+                        fight.getScheduler().schedule(() -> absorbingAcid = false,
                                 5, TimeUnit.SECONDS);
                         stop();
                     }
@@ -617,54 +583,33 @@ public final class Araxxor extends Araxyte {
     }
 
     /**
-     * Performs a ray-crossing algorithm on the polygon
-     * formed by the acid pool verticies to determine
-     * if Araxxor is in the acid pool region.
+     * Checks Araxxor's location against the acid pool zone, which
+     * is rasterized once when the environment is built.
      * @return whether or not Araxxor is in the acid pool
      */
     private boolean isInAcidPool() {
-        List<WorldTile> acidPool = fight.getConfig().getAcidPool();
-        boolean inAcidPool = false;
-        for(int i = 0, j = acidPool.size() - 1; i < acidPool.size(); j = i++) {
-            if ((acidPool.get(i).getY() > getY()) != (acidPool.get(j).getY() > getY()) &&
-                    (getX() < (acidPool.get(j).getX() - acidPool.get(i).getX())
-                            * (getY() - acidPool.get(i).getY())
-                            / (acidPool.get(j).getY()-acidPool.get(i).getY())
-                            + acidPool.get(i).getX()))
-                inAcidPool = !inAcidPool;
-        }
-        return inAcidPool;
+        return fight.getConfig().inZone(AraxxorEnvironment.Zone.ACID_POOL, this);
     }
 
     private boolean isOnRamp() {
-        return getX() > fight.getConfig().relativeX(4535) &&
-                (getY() >= fight.getConfig().relativeY(6258) &&
-                        getY() <= fight.getConfig().relativeY(6270));
+        return fight.getConfig().inZone(AraxxorEnvironment.Zone.RAMP, this);
     }
 
     private void leapOffAcidRamp() {
-        setNextGraphics(new Graphics(-1));
-        WorldTasksManager.schedule(new WorldTask() {
+        setNextGraphics(AraxxorEffects.RESET_GRAPHICS);
+        fight.getScheduler().schedule(new InstanceTask() {
 
             int tick = 0;
 
-            private boolean checkShutdown() {
-                boolean shutdown = fight.shuttingDown();
-                if (shutdown) stop();
-                return shutdown;
-            }
-
             @Override
             public void run() {
-                if(checkShutdown())
-                    return;
                 if(tick == 0) {
-                    Araxxor.this.setNextAnimation(new Animation(24056));
+                    Araxxor.this.setNextAnimation(AraxxorEffects.CLIMB);
                     Araxxor.this.setCantInteract(true);
                     Araxxor.this.setTarget(null);
                 } else if(tick == 3) {
-                    Araxxor.this.setNextWorldTile(fight.getConfig().getRelativeTile(new WorldTile(4564, 6259, 1)));
-                    Araxxor.this.setNextAnimation(new Animation(24076));
+                    Araxxor.this.setNextWorldTile(fight.getConfig().getAnchor(AraxxorEnvironment.Anchor.ACID_BOSS_RETURN));
+                    Araxxor.this.setNextAnimation(AraxxorEffects.DESCEND);
                 } else if(tick == 6) {
                     Araxxor.this.setCantInteract(false);
                     stop();
@@ -691,13 +636,15 @@ public final class Araxxor extends Araxyte {
         private int correctKeyStroke;
         private int playerAnimationId;
         private String warningMessage;
+        private Animation animation;
+        private Animation playerAnimation;
 
-        private static final Map<Integer, Integer> keyAnimPlayerMap = new HashMap<>();
+        private static final Map<Integer, Animation> keyAnimPlayerMap = new HashMap<>();
 
         static
         {
             Arrays.stream(SwingDirection.values()).forEach( e ->
-                    keyAnimPlayerMap.put(e.correctKeyStroke, e.playerAnimationId));
+                    keyAnimPlayerMap.put(e.correctKeyStroke, e.playerAnimation));
         }
 
         SwingDirection(int animationId, int correctKeyStroke,
@@ -706,11 +653,12 @@ public final class Araxxor extends Araxyte {
             this.correctKeyStroke = correctKeyStroke;
             this.playerAnimationId = playerAnimationId;
             this.warningMessage = warningMessage;
+            this.animation = new Animation(animationId);
+            this.playerAnimation = new Animation(playerAnimationId);
         }
 
         public static Animation animForKeyStroke(int key) {
-            Integer id = keyAnimPlayerMap.get(key);
-            return new Animation(keyAnimPlayerMap.get(key) == null ? -1 : id);
+            return keyAnimPlayerMap.getOrDefault(key, AraxxorEffects.RESET_ANIMATION);
         }
 
         public int getCorrectKeyStroke() {
@@ -721,6 +669,10 @@ public final class Araxxor extends Araxyte {
             return animationId;
         }
 
+        public Animation getAnimation() {
+            return animation;
+        }
+
         public String getWarningMessage() {
             return warningMessage;
         }
@@ -4,16 +4,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import com.rs.cores.CoresManager;
-import com.rs.game.Animation;
 import com.rs.game.Entity;
-import com.rs.game.Graphics;
 import com.rs.game.Hit;
 import com.rs.game.World;
 import com.rs.game.npc.NPC;
 import com.rs.game.npc.combat.CombatScript;
 import com.rs.game.npc.combat.NPCCombatDefinitions;
 import com.rs.game.player.Player;
+import com.rs.game.player.content.araxxor.AraxxorEffects;
 import com.rs.game.player.content.araxxor.AraxxorEnvironment;
 import com.rs.game.player.content.araxxor.AraxxorFight;
 import com.rs.utils.Logger;
@@ -104,7 +102,7 @@ public class AraxxorCombat extends CombatScript {
                 getRandomMaxHit(araxxor, defs.getMaxHit(), NPCCombatDefinitions.MELEE, target));
         Hit scaledHit = araxxor.scaleBaseHit(target, unscaledHit.getDamage(), unscaledHit.getLook());
         if(scaledHit != null) {
-            araxxor.setNextAnimation(new Animation(24094));
+            araxxor.setNextAnimation(AraxxorEffects.MELEE);
             delayHit(araxxor, 0, target, scaledHit);
         }
     }
@@ -125,14 +123,14 @@ public class AraxxorCombat extends CombatScript {
                 Hit scaledHit = araxxor.scaleBaseHit(entity, unscaledHit.getDamage(), unscaledHit.getLook());
                 if(scaledHit != null) {
                     World.sendProjectile(araxxor.getMiddleWorldTile(), entity, 4979, 60, 30, 45, 0, 5, 200);
-                    CoresManager.getServiceProvider().executeWithDelay(() ->
-                            World.sendGraphics(araxxor, new Graphics(4980), entity), 1);
+                    araxxor.getFight().getScheduler().schedule(() ->
+                            World.sendGraphics(araxxor, AraxxorEffects.MAGIC_IMPACT, entity), 1);
                     delayHit(araxxor, 1, entity, scaledHit);
                 }
             }
         }
-        araxxor.setNextAnimation(new Animation(24047));
-        araxxor.setNextGraphics(new Graphics(4988, 0, 180));
+        araxxor.setNextAnimation(AraxxorEffects.CAST);
+        araxxor.setNextGraphics(AraxxorEffects.CAST_GRAPHICS);
     }
 
     private void rangeAutoAttack(Araxxor araxxor, Entity trueTarget,
@@ -152,14 +150,14 @@ public class AraxxorCombat extends CombatScript {
                     World.sendProjectile(araxxor.getMiddleWorldTile(), entity, 4997, 60, 30, 45, 0, 5, 200);
 
                     delayHit(araxxor, 1, entity, scaledHit);
-                    CoresManager.getServiceProvider().executeWithDelay(() ->
-                            World.sendGraphics(araxxor, new Graphics(4993), entity), 1);
+                    araxxor.getFight().getScheduler().schedule(() ->
+                            World.sendGraphics(araxxor, AraxxorEffects.RANGE_IMPACT, entity), 1);
                     entity.getPoison().makePoisoned(150);
                 }
             }
         }
-        araxxor.setNextAnimation(new Animation(24047));
-        araxxor.setNextGraphics(new Graphics(4988, 0, 180));
+        araxxor.setNextAnimation(AraxxorEffects.CAST);
+        araxxor.setNextGraphics(AraxxorEffects.CAST_GRAPHICS);
     }
 
 }
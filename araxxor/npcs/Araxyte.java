@@ -1,14 +1,13 @@
 package com.rs.game.player.content.araxxor.npcs;
 
-import com.rs.cores.CoresManager;
 import com.rs.game.*;
+import com.rs.game.instance.InstanceTask;
 import com.rs.game.npc.NPC;
 import com.rs.game.player.Player;
+import com.rs.game.player.content.araxxor.AraxxorEffects;
 import com.rs.game.player.content.araxxor.AraxxorFight;
 import com.rs.game.player.content.araxxor.AraxxorInterfaces;
 import com.rs.game.player.content.araxxor.AraxxorManager;
-import com.rs.game.tasks.WorldTask;
-import com.rs.game.tasks.WorldTasksManager;
 import com.rs.utils.Logger;
 import com.rs.utils.Utils;
 
@@ -46,6 +45,7 @@ public abstract class Araxyte extends NPC {
     int enrage;
 
     final transient MinionFactory minionFactory;
+    final transient ReflectedDamage reflected;
     List<AraxyteMinion> minions;
     List<Specials> unusedSpecials;
 
@@ -64,10 +64,19 @@ public abstract class Araxyte extends NPC {
         this.fight = fight;
         this.difficulty = this.fight.getPlayers().size() > 1 ? Difficulty.GROUP : Difficulty.SOLO;
         unusedSpecials = new ArrayList<>();
-        minionFactory = new MinionFactory();
+        minionFactory = new MinionFactory(fight.getRandom());
+        reflected = new ReflectedDamage(this);
         setForceMultiArea(true);
         setNoDistanceCheck(true);
         setCombat(new AraxyteCombatHandler(this));
+        fight.getScheduler().schedule(new InstanceTask() {
+            @Override
+            public void run() {
+                reflected.flush(fight.getPlayers());
+                if(hasFinished())
+                    stop();
+            }
+        }, 0, 0);
     }
 
     abstract int performSpecial();
@@ -85,10 +94,20 @@ public abstract class Araxyte extends NPC {
     public Hit scaleBaseHit(Entity target, int damage, Hit.HitLook hitLook) {
         if(target == null || target.isDead() || target.hasFinished())
             return null;
+        return new Hit(this, scaleBaseDamage(damage), hitLook);
+    }
+
+    /**
+     * Scales base hit damage as {@link #scaleBaseHit(Entity, int, Hit.HitLook)} does,
+     * without building the {@code Hit}.
+     * @param damage the initial base hit damage
+     * @return the scaled damage
+     */
+    int scaleBaseDamage(int damage) {
         float trueDamage = (float) damage;
         trueDamage *= difficulty == Difficulty.GROUP ? 1.3F : 1.0F;
         trueDamage *= 1.0F + (enrage / 100.0F);
-        return new Hit(this, Math.round(trueDamage), hitLook);
+        return Math.round(trueDamage);
     }
 
     /**
@@ -123,22 +142,16 @@ public abstract class Araxyte extends NPC {
     /**
      * Perform the parent {@code processHit(Hit hit)}, but
      * also reflect damage back to attackers if inside the
-     * healing web.
+     * healing web. The reflected damage is dealt at the end
+     * of the tick, see {@link ReflectedDamage}.
      * @param hit the {@code Hit} to process
      */
     @Override
     public void processHit(Hit hit) {
-        if(inHealingWeb) {
-            final int damage = hit.getDamage();
-            fight.getPlayers().forEach(player -> {
-                if(player != null && !player.isDead() && !player.hasFinished() &&
-                        hit.getLook() != Hit.HitLook.HEALED_DAMAGE)
-                    player.applyHit(new Hit(this, Math.round((float) (damage * 0.50)),
-                            Hit.HitLook.REFLECTED_DAMAGE));
-            });
-        }
+        if(inHealingWeb && hit.getLook() != Hit.HitLook.HEALED_DAMAGE)
+            reflected.toEveryone(Math.round((float) (hit.getDamage() * 0.50)));
         super.processHit(hit);
-        AraxxorInterfaces.updateBossHealthInterface(fight.getPlayers(), this);
+        AraxxorInterfaces.updateBossHealthInterface(fight, this);
     }
 
     @Override
@@ -168,10 +181,16 @@ public abstract class Araxyte extends NPC {
      * Clears the minion list after a 15 second delay.
      */
     private void scheduleMinionDespawn() {
-        CoresManager.getServiceProvider().executeWithDelay(() -> {
-            if(!minions.isEmpty())
-                new ArrayList<>(Araxyte.this.minions).forEach(minion -> minion.sendDeath(null));
-        }, 15, TimeUnit.SECONDS);
+        fight.getScheduler().schedule(this::despawnMinions, 15, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Kills every minion still alive. Called by the despawn timer, and
+     * by the fight as it shuts down, since the timer is cancelled with it.
+     */
+    public void despawnMinions() {
+        if(minions != null && !minions.isEmpty())
+            new ArrayList<>(minions).forEach(minion -> minion.sendDeath(null));
     }
 
     /**
@@ -203,16 +222,15 @@ public abstract class Araxyte extends NPC {
      * will be reflected back to the attacking player.<br/><br/>
      */
     void performMinionSpawn() {
-        final int batchSize = Utils.random(difficulty == Difficulty.SOLO ? 2 : 5,
+        final int batchSize = fight.getRandom().random(difficulty == Difficulty.SOLO ? 2 : 5,
                 difficulty == Difficulty.SOLO ? 6 : 10);
-        AraxyteMinion.MinionType type = AraxyteMinion.MinionType.values()[
-                Utils.random(AraxyteMinion.MinionType.values().length)];
+        AraxyteMinion.MinionType type = fight.getRandom().pick(AraxyteMinion.MinionType.values());
         while(type == minionFactory.getLastSpawnedMinionType())
-            type = AraxyteMinion.MinionType.values()[Utils.random(AraxyteMinion.MinionType.values().length)];
+            type = fight.getRandom().pick(AraxyteMinion.MinionType.values());
         for(int i = 0; i < batchSize; i++) {
             WorldTile minionSpawnTile;
             while(true) {
-                minionSpawnTile = new WorldTile(this, 4);
+                minionSpawnTile = fight.getRandom().tileNear(this, 4);
                 if(minionSpawnTile.getTileHash() != getTileHash() &&
                         World.canMoveNPC(minionSpawnTile.getPlane(), minionSpawnTile.getX(), minionSpawnTile.getY(), 1))
                     break;
@@ -236,30 +254,26 @@ public abstract class Araxyte extends NPC {
      */
     void performCleave() {
         byte[] dir = Utils.getDirection(getDirection());
-        WorldTile toTile = new WorldTile(this, 1);
+        WorldTile toTile = fight.getRandom().tileNear(this, 1);
         while(!World.canMoveNPC(toTile, 1))
-            toTile = new WorldTile(this, 1);
+            toTile = fight.getRandom().tileNear(this, 1);
         final WorldTile dragTo = new WorldTile(toTile);
         fight.getPlayers().stream().filter(player -> player != null &&
                 !player.isDead() && !player.hasFinished()).forEach(player -> {
             player.resetWalkSteps();
             player.setNextForceMovement(new ForceMovement(dragTo, 1, Utils.getAngle(dir[0], dir[1])));
-            player.setNextAnimation(new Animation(14388));
+            player.setNextAnimation(AraxxorEffects.PLAYER_DRAGGED);
         });
-        WorldTasksManager.schedule(new WorldTask() {
+        fight.getScheduler().schedule(new InstanceTask() {
 
             int tick = 0;
 
             @Override
             public void run() {
-                if(fight.shuttingDown()) {
-                    stop();
-                    return;
-                }
                 if(tick == 0) {
                     fight.getPlayers().forEach(p -> p.setNextWorldTile(dragTo));
-                    setNextAnimation(new Animation(24050));
-                    setNextGraphics(new Graphics(4986));
+                    setNextAnimation(AraxxorEffects.CLEAVE);
+                    setNextGraphics(AraxxorEffects.CLEAVE_GRAPHICS);
                 } else if(tick == 2) {
                     List<Entity> targetsInRange = new ArrayList<>();
                     fight.getPlayers().forEach(player -> {
@@ -303,17 +317,13 @@ public abstract class Araxyte extends NPC {
      * but players can escape after 2 game ticks if they are lucky.
      */
     void performCocoon() {
-        setNextAnimation(new Animation(24083));
-        WorldTasksManager.schedule(new WorldTask() {
+        setNextAnimation(AraxxorEffects.COCOON);
+        fight.getScheduler().schedule(new InstanceTask() {
 
             int tick = 0;
 
             @Override
             public void run() {
-                if(fight.shuttingDown()) {
-                    stop();
-                    return;
-                }
                 if(tick == 0)
                     fight.getPlayers().forEach(player -> {
                         if(player != null && !player.isDead() && !player.hasFinished()) {
@@ -336,7 +346,7 @@ public abstract class Araxyte extends NPC {
                                     "webbing!");
                         }
                     });
-                    setNextAnimation(new Animation(-1));
+                    setNextAnimation(AraxxorEffects.RESET_ANIMATION);
                     cocoonReleaseFlag = false;
                     stop();
                 }
@@ -347,20 +357,20 @@ public abstract class Araxyte extends NPC {
                         player.setCantWalk(false);
                         player.getAppearence().setRenderEmote(-1);
                         player.getAppearence().transformIntoNPC(-1);
-                        player.setNextGraphics(new Graphics(4993));
+                        player.setNextGraphics(AraxxorEffects.RANGE_IMPACT);
                         player.getPackets().sendPlayerMessageBox("You manage to " +
                                 "break free from the thick" +
                                 "webbing!");
                     });
                     cocoonReleaseFlag = false;
-                    setNextAnimation(new Animation(-1));
+                    setNextAnimation(AraxxorEffects.RESET_ANIMATION);
                     stop();
                 }
 
                 if(tick != 5) {
                     fight.getPlayers().forEach(player -> {
                         if(player != null && !player.isDead() && !player.hasFinished()) {
-                            player.setNextAnimation(new Animation(24115));
+                            player.setNextAnimation(AraxxorEffects.COCOON_SQUEEZE);
                             Hit scaledHit = scaleBaseHit(player, 15, Hit.HitLook.POISON_DAMAGE);
                             player.applyHit(scaledHit);
                         }
@@ -382,31 +392,22 @@ public abstract class Araxyte extends NPC {
         setTarget(null);
         setCannotMove(true);
         setNextFaceEntity(null);
-        setNextGraphics(new Graphics(4987));
-        setNextAnimation(new Animation(24075));
+        setNextGraphics(AraxxorEffects.WEB_HEAL_GRAPHICS);
+        setNextAnimation(AraxxorEffects.WEB_HEAL);
         resetWalkSteps();
         inHealingWeb = true;
-        WorldTasksManager.schedule(new WorldTask() {
+        fight.getScheduler().schedule(new InstanceTask() {
             int tick = 0;
 
-            private boolean checkShutdown() {
-                boolean shutdown = fight.shuttingDown();
-                if (shutdown) stop();
-                return shutdown;
-            }
-
             @Override
             public void run() {
-                if(checkShutdown())
-                    return;
-                if (tick % 2 == 0 && tick != 6 && Utils.random(2) == 1)
+                if (tick % 2 == 0 && tick != 6 && fight.getRandom().random(2) == 1)
                     applyHit(new Hit(null, difficulty == Difficulty.SOLO ?
                             200 : 400, Hit.HitLook.HEALED_DAMAGE));
                 else if(tick == 6) {
                     inHealingWeb = false;
                     setCannotMove(false);
-                    Araxyte.this.setTarget(fight.getPlayers().get(Utils.random(
-                            fight.getPlayers().size())));
+                    Araxyte.this.setTarget(fight.getRandom().pick(fight.getPlayers()));
                     stop();
                 }
                 tick++;
@@ -1,9 +1,9 @@
 package com.rs.game.player.content.araxxor.npcs;
 
 import com.rs.game.Entity;
-import com.rs.game.Graphics;
 import com.rs.game.WorldTile;
 import com.rs.game.npc.NPC;
+import com.rs.game.player.content.araxxor.AraxxorEffects;
 import com.rs.utils.Logger;
 
 /**
@@ -38,7 +38,7 @@ abstract class AraxyteMinion extends NPC {
     @Override
     public void sendDeath(final Entity source) {
         parent.removeMinion(this);
-        setNextGraphics(new Graphics(5006));
+        setNextGraphics(AraxxorEffects.MINION_DEATH);
         super.sendDeath(source);
     }
 
@@ -2,7 +2,6 @@ package com.rs.game.player.content.araxxor.npcs;
 
 import com.rs.game.WorldTile;
 import com.rs.game.player.Player;
-import com.rs.utils.Utils;
 
 import java.util.List;
 
@@ -28,6 +27,6 @@ final class BladedMinion extends AraxyteMinion {
         setForceAgressive(true);
         setRun(true);
         setIntelligentRouteFinder(true);
-        setTarget(parent.fight.getPlayers().get(Utils.random(parent.fight.getPlayers().size())));
+        setTarget(parent.fight.getRandom().pick(parent.fight.getPlayers()));
     }
 }
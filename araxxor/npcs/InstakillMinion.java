@@ -1,10 +1,10 @@
 package com.rs.game.player.content.araxxor.npcs;
 
-import com.rs.game.Graphics;
 import com.rs.game.Hit;
 import com.rs.game.WorldTile;
 import com.rs.game.npc.NPC;
 import com.rs.game.player.Player;
+import com.rs.game.player.content.araxxor.AraxxorEffects;
 import com.rs.game.route.RouteFinder;
 import com.rs.game.route.strategy.FixedTileStrategy;
 import com.rs.utils.Logger;
@@ -52,7 +52,7 @@ final class InstakillMinion extends NPC {
     }
 
     void detonate() {
-        setNextGraphics(new Graphics(5006));
+        setNextGraphics(AraxxorEffects.MINION_DEATH);
         killTarget.applyHit(new Hit(this, killTarget.getMaxHitpoints(), Hit.HitLook.CRITICAL_DAMAGE));
         sendDeath(killTarget);
     }
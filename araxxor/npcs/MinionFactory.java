@@ -1,7 +1,7 @@
 package com.rs.game.player.content.araxxor.npcs;
 
 import com.rs.game.WorldTile;
-import com.rs.utils.Utils;
+import com.rs.game.instance.InstanceRandom;
 
 import java.util.Objects;
 
@@ -18,9 +18,8 @@ final class MinionFactory {
 
     private AraxyteMinion.MinionType lastSpawnedMinionType;
 
-    MinionFactory() {
-        final int l = AraxyteMinion.MinionType.values().length;
-        lastSpawnedMinionType = AraxyteMinion.MinionType.values()[Utils.random(l)];
+    MinionFactory(InstanceRandom random) {
+        lastSpawnedMinionType = random.pick(AraxyteMinion.MinionType.values());
     }
 
     AraxyteMinion.MinionType getLastSpawnedMinionType() {
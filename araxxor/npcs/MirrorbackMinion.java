@@ -1,11 +1,10 @@
 package com.rs.game.player.content.araxxor.npcs;
 
 import com.rs.game.Animation;
-import com.rs.game.Graphics;
 import com.rs.game.Hit;
 import com.rs.game.WorldTile;
-import com.rs.game.tasks.WorldTask;
-import com.rs.game.tasks.WorldTasksManager;
+import com.rs.game.instance.InstanceTask;
+import com.rs.game.player.content.araxxor.AraxxorEffects;
 
 /**
  * <br/><br/>
@@ -35,16 +34,12 @@ final class MirrorbackMinion extends AraxyteMinion {
 
     @Override
     protected void performRole() {
-        WorldTasksManager.schedule(new WorldTask() {
+        parent.fight.getScheduler().schedule(new InstanceTask() {
 
             int tick = 0;
 
             @Override
             public void run() {
-                if(parent.fight.shuttingDown()) {
-                    stop();
-                    return;
-                }
                 if(MirrorbackMinion.this.isDead() || MirrorbackMinion.this.hasFinished()) {
                     stop();
                     sendDeath(null);
@@ -56,9 +51,9 @@ final class MirrorbackMinion extends AraxyteMinion {
                     return;
                 }
                 if(tick % 5 == 0 && MirrorbackMinion.this.getAttackedBy() == null) {
-                    MirrorbackMinion.this.setNextGraphics(new Graphics(5003));
+                    MirrorbackMinion.this.setNextGraphics(AraxxorEffects.MINION_CHANNEL);
                     MirrorbackMinion.this.setNextFaceEntity(parent);
-                    parent.setNextGraphics(new Graphics(5004));
+                    parent.setNextGraphics(AraxxorEffects.MINION_EMPOWERED);
                     parent.applyHit(new Hit(MirrorbackMinion.this, 100, Hit.HitLook.HEALED_DAMAGE));
                 }
                 tick++;
@@ -1,10 +1,9 @@
 package com.rs.game.player.content.araxxor.npcs;
 
-import com.rs.game.Graphics;
 import com.rs.game.Hit;
 import com.rs.game.WorldTile;
-import com.rs.game.tasks.WorldTask;
-import com.rs.game.tasks.WorldTasksManager;
+import com.rs.game.instance.InstanceTask;
+import com.rs.game.player.content.araxxor.AraxxorEffects;
 
 /**
  * <br/><br/>
@@ -43,16 +42,12 @@ final class PulsingMinion extends AraxyteMinion {
 
     @Override
     protected void performRole() {
-        WorldTasksManager.schedule(new WorldTask() {
+        parent.fight.getScheduler().schedule(new InstanceTask() {
 
             int tick = 0;
 
             @Override
             public void run() {
-                if(parent.fight.shuttingDown()) {
-                    stop();
-                    return;
-                }
                 if(PulsingMinion.this.isDead() || PulsingMinion.this.hasFinished()) {
                     stop();
                     sendDeath(null);
@@ -65,8 +60,8 @@ final class PulsingMinion extends AraxyteMinion {
                 }
                 if(tick % 5 == 0 && !distracted) {
                     PulsingMinion.this.setNextFaceEntity(parent);
-                    PulsingMinion.this.setNextGraphics(new Graphics(5003));
-                    parent.setNextGraphics(new Graphics(5004));
+                    PulsingMinion.this.setNextGraphics(AraxxorEffects.MINION_CHANNEL);
+                    parent.setNextGraphics(AraxxorEffects.MINION_EMPOWERED);
                     parent.applyHit(new Hit(PulsingMinion.this, 100, Hit.HitLook.HEALED_DAMAGE));
                 }
 
@@ -0,0 +1,91 @@
+package com.rs.game.player.content.araxxor.npcs;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.rs.game.Entity;
+import com.rs.game.Hit;
+import com.rs.game.player.Player;
+
+/**
+ * The damage an Araxyte has reflected during the current tick, not yet dealt.<br/><br/>
+ * Each reflected hit only adds its damage to a running total, for every player
+ * in the fight (the healing web) or for the attacker alone (Mirrorback minions).
+ * The boss deals each total once per tick as a single hit, so a burst of attacks
+ * costs one {@code Hit} per player rather than one for every attack. Damage is
+ * rounded per incoming hit, as it was when each was reflected on its own, so the
+ * totals dealt do not change, but the reflected hit lands one tick later than the
+ * hit which caused it.
+ * <br/><br/>
+ * This project is primarily the work of dlo3, with contributions
+ * from Ataraxia devs Kris, Armak1ing, and CJay. It may only be distributed
+ * <b>AS-IS</b>, and <b>FREE OF CHARGE</b>, with dlo3's consent.
+ * Furthermore, this notice must remain in all distributions.
+ * @author David O'Neill (dlo3)
+ * @since 1.2
+ */
+final class ReflectedDamage {
+
+    private final Araxyte boss;
+
+    private int everyone;
+    private Entity[] attackers = new Entity[4];
+    private int[] damage = new int[4];
+    private int size;
+
+    ReflectedDamage(Araxyte boss) {
+        this.boss = boss;
+    }
+
+    /**
+     * Adds damage to be reflected onto every player in the fight.
+     * @param amount the damage
+     */
+    void toEveryone(int amount) {
+        everyone += amount;
+    }
+
+    /**
+     * Adds damage to be reflected onto a single attacker.
+     * @param attacker the attacker
+     * @param amount the damage
+     */
+    void toAttacker(Entity attacker, int amount) {
+        if(attacker == null)
+            return;
+        for(int i = 0; i < size; i++) {
+            if(attackers[i] == attacker) {
+                damage[i] += amount;
+                return;
+            }
+        }
+        if(size == attackers.length) {
+            attackers = Arrays.copyOf(attackers, size * 2);
+            damage = Arrays.copyOf(damage, size * 2);
+        }
+        attackers[size] = attacker;
+        damage[size++] = amount;
+    }
+
+    /**
+     * Deals the damage reflected since the last flush, one hit per target.
+     * @param players the players in the fight
+     */
+    void flush(List<Player> players) {
+        if(everyone > 0) {
+            for(int i = 0; i < players.size(); i++) {
+                final Player player = players.get(i);
+                if(player != null && !player.isDead() && !player.hasFinished())
+                    player.applyHit(new Hit(boss, everyone, Hit.HitLook.REFLECTED_DAMAGE));
+            }
+        }
+        everyone = 0;
+        for(int i = 0; i < size; i++) {
+            final Entity attacker = attackers[i];
+            if(damage[i] > 0 && !attacker.isDead() && !attacker.hasFinished())
+                attacker.applyHit(new Hit(boss, damage[i], Hit.HitLook.REFLECTED_DAMAGE));
+            attackers[i] = null;
+        }
+        size = 0;
+    }
+}
@@ -1,7 +1,6 @@
 package com.rs.game.player.content.araxxor.npcs;
 
 import com.rs.game.WorldTile;
-import com.rs.utils.Utils;
 
 /**
  * <br/><br/>
@@ -25,6 +24,6 @@ final class SpittingMinion extends AraxyteMinion {
         setForceAgressive(true);
         setRun(true);
         setIntelligentRouteFinder(true);
-        setTarget(parent.fight.getPlayers().get(Utils.random(parent.fight.getPlayers().size())));
+        setTarget(parent.fight.getRandom().pick(parent.fight.getPlayers()));
     }
 }
@@ -0,0 +1,143 @@
+package com.rs.game.instance;
+
+import com.rs.game.RegionMap;
+import com.rs.game.World;
+import com.rs.game.WorldTile;
+
+/**
+ * A single bulk edit of the clip masks in an 8x8 window of tiles.<br/><br/>
+ * The tiles edited are given as one {@code long}, bit {@code dy * 8 + dx} standing for
+ * the tile {@code (dx, dy)} from the window's south-west root, so a whole web, wall or egg
+ * grid is described by a single word. The region maps are looked up once per edit (a
+ * window can straddle at most four regions), the previous mask of every tile is saved as
+ * the edit is applied, and {@link #undo()} writes them all back as a unit.
+ * @author David O'Neill (dlo3)
+ */
+public final class ClipEdit {
+
+    /** Every tile of the window. */
+    public static final long FULL = -1L;
+
+    private static final int SNAPSHOT = 0;
+    private static final int CLIP = 1;
+    private static final int UNCLIP = 2;
+
+    private final int x;
+    private final int y;
+    private final int plane;
+    private final long mask;
+    private final RegionMap[] maps = new RegionMap[4];
+    private final int[] saved;
+
+    private ClipEdit(WorldTile root, long mask, int operation) {
+        this.x = root.getX();
+        this.y = root.getY();
+        this.plane = root.getPlane();
+        this.mask = mask;
+        this.saved = new int[Long.bitCount(mask)];
+        apply(operation);
+    }
+
+    /**
+     * Clips the tiles of a window.
+     * @param root the south-west tile of the window
+     * @param mask the tiles to clip
+     * @return the applied edit
+     */
+    public static ClipEdit clip(WorldTile root, long mask) {
+        return new ClipEdit(root, mask, CLIP);
+    }
+
+    /**
+     * Unclips the tiles of a window.
+     * @param root the south-west tile of the window
+     * @param mask the tiles to unclip
+     * @return the applied edit
+     */
+    public static ClipEdit unclip(WorldTile root, long mask) {
+        return new ClipEdit(root, mask, UNCLIP);
+    }
+
+    /**
+     * Saves the masks of the tiles of a window without changing them, ahead of some
+     * other change to them, such as an object being spawned.
+     * @param root the south-west tile of the window
+     * @param mask the tiles to save
+     * @return the edit, which restores the saved masks when undone
+     */
+    public static ClipEdit snapshot(WorldTile root, long mask) {
+        return new ClipEdit(root, mask, SNAPSHOT);
+    }
+
+    /**
+     * Builds the mask of a rectangle within the window.
+     * @param dx the x offset of the rectangle's south-west tile from the root
+     * @param dy the y offset of the rectangle's south-west tile from the root
+     * @param width the width of the rectangle
+     * @param height the height of the rectangle
+     * @return the mask
+     */
+    public static long rectangle(int dx, int dy, int width, int height) {
+        final long row = width >= 8 ? 0xFFL : (1L << width) - 1;
+        long mask = 0;
+        for(int j = dy; j < Math.min(dy + height, 8); j++)
+            mask |= row << dx << (j << 3) & 0xFFL << (j << 3);
+        return mask;
+    }
+
+    /**
+     * Builds the mask of a single tile within the window.
+     * @param dx the x offset of the tile from the root
+     * @param dy the y offset of the tile from the root
+     * @return the mask
+     */
+    public static long tile(int dx, int dy) {
+        return 1L << (dy << 3 | dx);
+    }
+
+    /**
+     * Writes back the masks the tiles had before this edit was applied.
+     */
+    public void undo() {
+        int k = 0;
+        for(long bits = mask; bits != 0; bits &= bits - 1) {
+            final int bit = Long.numberOfTrailingZeros(bits);
+            final int tileX = x + (bit & 7), tileY = y + (bit >> 3);
+            map(tileX, tileY).setMask(plane, tileX & 63, tileY & 63, saved[k++]);
+        }
+    }
+
+    /**
+     * Accessor to the number of tiles this edit covers.
+     * @return the tile count
+     */
+    public int size() {
+        return saved.length;
+    }
+
+    private void apply(int operation) {
+        int k = 0;
+        for(long bits = mask; bits != 0; bits &= bits - 1) {
+            final int bit = Long.numberOfTrailingZeros(bits);
+            final int tileX = x + (bit & 7), tileY = y + (bit >> 3);
+            final RegionMap map = map(tileX, tileY);
+            saved[k++] = map.getMasks(plane, tileX & 63, tileY & 63);
+            if(operation == CLIP)
+                map.clipTile(plane, tileX & 63, tileY & 63);
+            else if(operation == UNCLIP)
+                map.unclipTile(plane, tileX & 63, tileY & 63);
+        }
+    }
+
+    /**
+     * Looks up the region map of a tile in the window, resolving each of the (at most
+     * four) regions the window covers only once.
+     */
+    private RegionMap map(int tileX, int tileY) {
+        final int quadrant = ((tileX >> 6) != (x >> 6) ? 1 : 0) | ((tileY >> 6) != (y >> 6) ? 2 : 0);
+        RegionMap map = maps[quadrant];
+        if(map == null)
+            map = maps[quadrant] = World.getRegion((tileX >> 6) << 8 | tileY >> 6).forceGetRegionMap();
+        return map;
+    }
+}
@@ -0,0 +1,138 @@
+package com.rs.game.instance;
+
+import java.util.Arrays;
+
+import com.rs.game.WorldTile;
+
+/**
+ * A per-tile layer of hazard flags over one plane of an instanced region.<br/><br/>
+ * Mechanics set flags on the tiles they affect when they start, and clear them when they
+ * end, and anything which needs to know whether an entity is standing in a hazard asks
+ * the grid, which is a single array read. Flags can be combined, so one tile may hold
+ * several hazards at once.
+ * @author David O'Neill (dlo3)
+ */
+public final class HazardGrid {
+
+    /** A tile covered by an egg. */
+    public static final int EGG = 1;
+    /** A tile lit by a light beam. */
+    public static final int LIGHT = 1 << 1;
+    /** A tile covered by acid. */
+    public static final int ACID = 1 << 2;
+    /** A fixed reference tile which mechanics must not be placed on. */
+    public static final int RESERVED = 1 << 3;
+
+    private final int baseX;
+    private final int baseY;
+    private final int width;
+    private final int height;
+    private final int plane;
+    private final byte[] flags;
+
+    /**
+     * Creates a grid with no hazards.
+     * @param baseX the x coordinate of the south-west tile
+     * @param baseY the y coordinate of the south-west tile
+     * @param width the width of the grid in tiles
+     * @param height the height of the grid in tiles
+     * @param plane the plane covered
+     */
+    public HazardGrid(int baseX, int baseY, int width, int height, int plane) {
+        this.baseX = baseX;
+        this.baseY = baseY;
+        this.width = width;
+        this.height = height;
+        this.plane = plane;
+        this.flags = new byte[width * height];
+    }
+
+    /**
+     * Sets hazard flags on a tile.
+     * @param tile the tile
+     * @param hazards the flags to set
+     */
+    public void set(WorldTile tile, int hazards) {
+        set(tile.getX(), tile.getY(), 1, 1, hazards);
+    }
+
+    /**
+     * Sets hazard flags on a rectangle of tiles. The rectangle is clipped to the grid.
+     * @param x the x coordinate of the south-west tile
+     * @param y the y coordinate of the south-west tile
+     * @param sizeX the width of the rectangle
+     * @param sizeY the height of the rectangle
+     * @param hazards the flags to set
+     */
+    public void set(int x, int y, int sizeX, int sizeY, int hazards) {
+        final int fromX = Math.max(x, baseX), toX = Math.min(x + sizeX, baseX + width);
+        for(int tileY = Math.max(y, baseY); tileY < Math.min(y + sizeY, baseY + height); tileY++) {
+            for(int tileX = fromX; tileX < toX; tileX++)
+                flags[index(tileX, tileY)] |= hazards;
+        }
+    }
+
+    /**
+     * Clears hazard flags from a tile.
+     * @param tile the tile
+     * @param hazards the flags to clear
+     */
+    public void clear(WorldTile tile, int hazards) {
+        clear(tile.getX(), tile.getY(), 1, 1, hazards);
+    }
+
+    /**
+     * Clears hazard flags from a rectangle of tiles. The rectangle is clipped to the grid.
+     * @param x the x coordinate of the south-west tile
+     * @param y the y coordinate of the south-west tile
+     * @param sizeX the width of the rectangle
+     * @param sizeY the height of the rectangle
+     * @param hazards the flags to clear
+     */
+    public void clear(int x, int y, int sizeX, int sizeY, int hazards) {
+        final int fromX = Math.max(x, baseX), toX = Math.min(x + sizeX, baseX + width);
+        for(int tileY = Math.max(y, baseY); tileY < Math.min(y + sizeY, baseY + height); tileY++) {
+            for(int tileX = fromX; tileX < toX; tileX++)
+                flags[index(tileX, tileY)] &= ~hazards;
+        }
+    }
+
+    /**
+     * Clears hazard flags from every tile of the grid.
+     * @param hazards the flags to clear
+     */
+    public void clearAll(int hazards) {
+        if(hazards == -1) {
+            Arrays.fill(flags, (byte) 0);
+            return;
+        }
+        for(int i = 0; i < flags.length; i++)
+            flags[i] &= ~hazards;
+    }
+
+    /**
+     * Tells whether or not a tile holds any of the supplied hazards.
+     * @param x the tile x coordinate
+     * @param y the tile y coordinate
+     * @param hazards the flags to check for
+     * @return {@code true} if the tile is in the grid and holds one of the flags
+     */
+    public boolean has(int x, int y, int hazards) {
+        return x >= baseX && x < baseX + width && y >= baseY && y < baseY + height
+                && (flags[index(x, y)] & hazards) != 0;
+    }
+
+    /**
+     * Tells whether or not a tile holds any of the supplied hazards.
+     * @param tile the tile, such as an entity's location
+     * @param hazards the flags to check for
+     * @return {@code true} if the tile is on the grid's plane and holds one of the flags
+     */
+    public boolean has(WorldTile tile, int hazards) {
+        return tile.getPlane() == plane && has(tile.getX(), tile.getY(), hazards);
+    }
+
+    private int index(int x, int y) {
+        return (y - baseY) * width + (x - baseX);
+    }
+}
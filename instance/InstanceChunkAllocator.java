@@ -0,0 +1,103 @@
+package com.rs.game.instance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Allocates and frees the chunk bounds of one instanced minigame's regions.<br/><br/>
+ * The allocator does not touch the engine's map code itself. Each minigame supplies a
+ * {@link Builder} which forwards to the region builder it already uses, such as the
+ * {@code MapBuilder} for Araxxor or the {@code RegionBuilder} for Pyramid Plunder, and
+ * the allocator pairs every bound it hands out with exactly one teardown through the
+ * same builder, counting the chunks held by live instances along the way.
+ * <br/><br/>
+ * Bounds are not cached here once freed: a freed bound's map is destroyed, which hands
+ * its regions back to the engine. Built regions are reused one level up instead, where
+ * the instance's edits can be reverted before the next player enters, as the Araxxor
+ * instance pool and the Pyramid Plunder floors do.
+ * @author David O'Neill (dlo3)
+ */
+public final class InstanceChunkAllocator {
+
+    /**
+     * The region builder calls an instanced minigame makes to claim and release map space.
+     */
+    public interface Builder {
+
+        /**
+         * Finds an empty rectangle of chunks, and marks it as used.
+         * @param width the width of the rectangle in chunks
+         * @param height the height of the rectangle in chunks
+         * @return a two-length array containing the chunk x and chunk y of the
+         *         rectangle's south-west corner
+         */
+        int[] findEmptyChunkBound(int width, int height);
+
+        /**
+         * Destroys the map built over a rectangle of chunks, and marks it as unused.
+         * @param chunkX the chunk x of the rectangle's south-west corner
+         * @param chunkY the chunk y of the rectangle's south-west corner
+         * @param width the width of the rectangle in chunks
+         * @param height the height of the rectangle in chunks
+         */
+        void destroyMap(int chunkX, int chunkY, int width, int height);
+    }
+
+    private final Builder builder;
+
+    private final AtomicInteger liveChunks = new AtomicInteger();
+    private final AtomicInteger liveAllocations = new AtomicInteger();
+
+    /**
+     * Creates an allocator for one minigame's instances.
+     * @param builder the region builder calls of the minigame
+     */
+    public InstanceChunkAllocator(Builder builder) {
+        this.builder = builder;
+    }
+
+    /**
+     * Allocates a rectangle of chunks.
+     * @param width the width of the rectangle in chunks
+     * @param height the height of the rectangle in chunks
+     * @return a two-length array containing the chunk x and chunk y of the
+     *         rectangle's south-west corner, as {@code findEmptyChunkBound} does
+     */
+    public int[] allocate(int width, int height) {
+        if(width < 1 || height < 1)
+            throw new IllegalArgumentException("Cannot allocate " + width + "x" + height + " chunks.");
+        final int[] bound = builder.findEmptyChunkBound(width, height);
+        liveChunks.addAndGet(width * height);
+        liveAllocations.incrementAndGet();
+        return bound;
+    }
+
+    /**
+     * Destroys the map over a rectangle of chunks previously returned by
+     * {@link #allocate(int, int)}, and frees the rectangle.
+     * @param chunkX the chunk x of the rectangle's south-west corner
+     * @param chunkY the chunk y of the rectangle's south-west corner
+     * @param width the width of the rectangle in chunks
+     * @param height the height of the rectangle in chunks
+     */
+    public void free(int chunkX, int chunkY, int width, int height) {
+        builder.destroyMap(chunkX, chunkY, width, height);
+        liveChunks.addAndGet(-width * height);
+        liveAllocations.decrementAndGet();
+    }
+
+    /**
+     * Accessor to the number of chunks in use by live instances.
+     * @return the live chunk count
+     */
+    public int getLiveChunks() {
+        return liveChunks.get();
+    }
+
+    /**
+     * Accessor to the number of live allocations.
+     * @return the live allocation count
+     */
+    public int getLiveAllocations() {
+        return liveAllocations.get();
+    }
+}
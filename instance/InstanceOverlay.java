@@ -0,0 +1,190 @@
+package com.rs.game.instance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.rs.cache.loaders.ObjectDefinitions;
+import com.rs.game.World;
+import com.rs.game.WorldObject;
+import com.rs.game.WorldTile;
+
+/**
+ * A sparse, copy-on-write record of the edits made to an instanced region.<br/><br/>
+ * A built instance is treated as an immutable template. Objects spawned or removed and
+ * tiles clipped or unclipped through the overlay are applied to the world as usual, but
+ * the first time a tile is touched, its original object and clip mask are saved. A tile
+ * edited again keeps its first snapshot, so the overlay grows with the number of tiles a
+ * fight or floor changes rather than with the number of changes, and {@link #revert()}
+ * puts each tile back once, so the instance can be handed to the next player instead of
+ * its chunks being copied again.
+ * @author David O'Neill (dlo3)
+ */
+public final class InstanceOverlay {
+
+    /** The original object on each edited tile, keyed by tile hash. */
+    private final Map<Integer, ObjectEdit> objects = new ConcurrentHashMap<>();
+    /** The original clip masks of each edited tile, keyed by the hash of the aligned 8x8 window it falls in. */
+    private final Map<Integer, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Spawns an object, saving whatever was on its tile beforehand.
+     * @param object the object to spawn
+     */
+    public void spawnObject(WorldObject object) {
+        record(object);
+        World.spawnObject(object);
+    }
+
+    /**
+     * Removes an object, saving it so it is respawned on {@link #revert()}.
+     * @param object the object to remove; {@code null} is ignored
+     */
+    public void removeObject(WorldObject object) {
+        if(object == null)
+            return;
+        record(object);
+        World.removeObject(object);
+    }
+
+    /**
+     * Clips a tile, saving its original clip mask.
+     * @param tile the tile to clip
+     */
+    public void clipTile(WorldTile tile) {
+        clip(tile, ClipEdit.tile(0, 0));
+    }
+
+    /**
+     * Unclips a tile, saving its original clip mask.
+     * @param tile the tile to unclip
+     */
+    public void unclipTile(WorldTile tile) {
+        unclip(tile, ClipEdit.tile(0, 0));
+    }
+
+    /**
+     * Clips the tiles of an 8x8 window in one edit.
+     * @param root the south-west tile of the window
+     * @param mask the tiles to clip, see {@link ClipEdit}
+     */
+    public void clip(WorldTile root, long mask) {
+        save(root.getX(), root.getY(), root.getPlane(), mask);
+        ClipEdit.clip(root, mask);
+    }
+
+    /**
+     * Unclips the tiles of an 8x8 window in one edit.
+     * @param root the south-west tile of the window
+     * @param mask the tiles to unclip, see {@link ClipEdit}
+     */
+    public void unclip(WorldTile root, long mask) {
+        save(root.getX(), root.getY(), root.getPlane(), mask);
+        ClipEdit.unclip(root, mask);
+    }
+
+    /**
+     * Unclips a scattered set of tiles, with one edit per 8x8 aligned window they fall in.
+     * @param tiles the tiles to unclip
+     */
+    public void unclip(List<WorldTile> tiles) {
+        final Map<Integer, Long> windows = new HashMap<>();
+        for(WorldTile tile : tiles) {
+            final int root = (tile.getX() & ~7) << 14 | tile.getY() & ~7 | tile.getPlane() << 28;
+            windows.merge(root, ClipEdit.tile(tile.getX() & 7, tile.getY() & 7), (a, b) -> a | b);
+        }
+        windows.forEach((root, mask) -> unclip(InstanceTransform.unpack(root), mask));
+    }
+
+    /**
+     * Restores every edited tile to its template state and empties the overlay. Objects
+     * are restored first, since spawning and removing them changes the clip masks, and
+     * the saved masks are then written back over them.
+     */
+    public void revert() {
+        objects.values().forEach(edit -> {
+            WorldObject current = World.getObject(edit.tile);
+            if(edit.original == null) {
+                if(current != null)
+                    World.removeObject(current);
+            } else if(current == null || current.getId() != edit.original.getId()
+                    || current.getRotation() != edit.original.getRotation())
+                World.spawnObject(edit.original);
+        });
+        windows.values().forEach(window -> window.snapshots.forEach(ClipEdit::undo));
+        objects.clear();
+        windows.clear();
+    }
+
+    /**
+     * Accessor to the number of edits this overlay holds.
+     * @return the number of edited objects plus tiles with a saved clip mask
+     */
+    public int size() {
+        int tiles = 0;
+        for(Window window : windows.values())
+            tiles += Long.bitCount(window.saved);
+        return objects.size() + tiles;
+    }
+
+    /**
+     * Saves the object on a tile and the clip masks under the object's footprint, unless
+     * they were saved by an earlier edit.
+     */
+    private void record(WorldObject object) {
+        objects.computeIfAbsent(object.getTileHash(), hash -> new ObjectEdit(object, World.getObject(object)));
+        final ObjectDefinitions defs = object.getDefinitions();
+        final boolean turned = (object.getRotation() & 1) == 1;
+        final int width = Math.max(turned ? defs.getSizeY() : defs.getSizeX(), 1);
+        final int height = Math.max(turned ? defs.getSizeX() : defs.getSizeY(), 1);
+        for(int dx = 0; dx < width; dx += 8) {
+            for(int dy = 0; dy < height; dy += 8)
+                save(object.getX() + dx, object.getY() + dy, object.getPlane(),
+                        ClipEdit.rectangle(0, 0, Math.min(width - dx, 8), Math.min(height - dy, 8)));
+        }
+    }
+
+    /**
+     * Snapshots the clip masks of the tiles of a window which have not been saved yet.
+     * The window need not be aligned, so its tiles are split between the (at most four)
+     * aligned windows they fall in, and each gets one snapshot of its new tiles.
+     */
+    private void save(int x, int y, int plane, long mask) {
+        final long[] parts = new long[4];
+        for(long bits = mask; bits != 0; bits &= bits - 1) {
+            final int bit = Long.numberOfTrailingZeros(bits);
+            final int tileX = x + (bit & 7), tileY = y + (bit >> 3);
+            final int quadrant = ((tileX >> 3) != (x >> 3) ? 1 : 0) | ((tileY >> 3) != (y >> 3) ? 2 : 0);
+            parts[quadrant] |= ClipEdit.tile(tileX & 7, tileY & 7);
+        }
+        for(int quadrant = 0; quadrant < 4; quadrant++) {
+            if(parts[quadrant] == 0)
+                continue;
+            final int rootX = (x & ~7) + ((quadrant & 1) << 3);
+            final int rootY = (y & ~7) + ((quadrant & 2) << 2);
+            final Window window = windows.computeIfAbsent(rootX << 14 | rootY | plane << 28, hash -> new Window());
+            final long fresh = parts[quadrant] & ~window.saved;
+            if(fresh == 0)
+                continue;
+            window.snapshots.add(ClipEdit.snapshot(new WorldTile(rootX, rootY, plane), fresh));
+            window.saved |= fresh;
+        }
+    }
+
+    private static final class Window {
+        private final List<ClipEdit> snapshots = new ArrayList<>(1);
+        private long saved;
+    }
+
+    private static final class ObjectEdit {
+        private final WorldTile tile;
+        private final WorldObject original;
+
+        private ObjectEdit(WorldTile tile, WorldObject original) {
+            this.tile = new WorldTile(tile);
+            this.original = original;
+        }
+    }
+}
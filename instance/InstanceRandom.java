@@ -0,0 +1,164 @@
+package com.rs.game.instance;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.rs.game.WorldTile;
+import com.rs.utils.Logger;
+
+/**
+ * A random number stream owned by a single instance, such as a boss fight or a
+ * minigame run.<br/><br/>
+ * Every stream is seeded from a master stream, whose seed is logged at startup, and
+ * each stream's own seed is logged when it is created. Instances therefore never share
+ * a generator with each other or with the rest of the server, and any reported fight
+ * can be replayed by forcing its seed with {@link #forceNextSeed(long)}, or a whole
+ * session by starting the server with {@code -Dinstance.seed=<master seed>}.
+ * <br/><br/>
+ * A stream is not thread-safe, and must only be used by the instance which owns it.
+ * The methods mirror the {@code Utils} random helpers, so calls can be swapped one for one.
+ * @author David O'Neill (dlo3)
+ */
+public final class InstanceRandom {
+
+    private static final long MASTER_SEED = Long.getLong("instance.seed",
+            System.currentTimeMillis() ^ System.nanoTime());
+    private static final SplittableRandom MASTER = new SplittableRandom(MASTER_SEED);
+    private static volatile Long forcedSeed;
+
+    static
+    {
+        Logger.log(Logger.DEBUG, "Instance random master seed: " + MASTER_SEED);
+    }
+
+    private final long seed;
+    private final SplittableRandom random;
+
+    private InstanceRandom(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Creates a stream for a new instance, and logs its seed.
+     * @param label a description of the instance, written to the log with the seed
+     * @return the new stream
+     */
+    public static InstanceRandom create(String label) {
+        long seed;
+        synchronized (MASTER) {
+            if(forcedSeed != null) {
+                seed = forcedSeed;
+                forcedSeed = null;
+            } else
+                seed = MASTER.nextLong();
+        }
+        Logger.log(Logger.DEBUG, "Instance random seed for " + label + ": " + seed);
+        return new InstanceRandom(seed);
+    }
+
+    /**
+     * Makes the next instance created use the supplied seed, to replay a logged instance.
+     * @param seed the logged seed of the instance to replay
+     */
+    public static void forceNextSeed(long seed) {
+        synchronized (MASTER) {
+            forcedSeed = seed;
+        }
+    }
+
+    /**
+     * Accessor to the seed of this stream.
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Accessor to the underlying generator, for components which take one directly.
+     * @return the generator
+     */
+    public SplittableRandom getSource() {
+        return random;
+    }
+
+    /**
+     * Generates a random {@code int} between 0 (inclusive) and {@code max} (exclusive).
+     * @param max the upper bound
+     * @return the random value, or 0 if {@code max} is not positive
+     */
+    public int random(int max) {
+        return max <= 0 ? 0 : random.nextInt(max);
+    }
+
+    /**
+     * Generates a random {@code int} between {@code min} (inclusive) and {@code max} (exclusive).
+     * @param min the lower bound
+     * @param max the upper bound
+     * @return the random value
+     */
+    public int random(int min, int max) {
+        return Math.min(min, max) + random(Math.abs(max - min));
+    }
+
+    /**
+     * Generates a random {@code double} between {@code min} (inclusive) and {@code max} (exclusive).
+     * @param min the lower bound
+     * @param max the upper bound
+     * @return the random value
+     */
+    public double random(double min, double max) {
+        return min + (max - min) * random.nextDouble();
+    }
+
+    /**
+     * Generates a random {@code double} between 0 (inclusive) and 1 (exclusive),
+     * in place of {@code Math.random()}.
+     * @return the random value
+     */
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    /**
+     * Picks a random element of a list.
+     * @param list the list to pick from, which must not be empty
+     * @return the picked element
+     */
+    public <T> T pick(List<T> list) {
+        return list.get(random.nextInt(list.size()));
+    }
+
+    /**
+     * Picks a random element of an array.
+     * @param values the array to pick from, which must not be empty
+     * @return the picked element
+     */
+    public <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Shuffles a list in place.
+     * @param list the list to shuffle
+     */
+    public <T> void shuffle(List<T> list) {
+        for(int i = list.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            list.set(j, list.set(i, list.get(j)));
+        }
+    }
+
+    /**
+     * Picks a random tile within {@code radius} tiles of {@code center} on both axes,
+     * in place of the randomizing {@code WorldTile} constructor.
+     * @param center the center tile
+     * @param radius the maximum distance on each axis
+     * @return the random tile
+     */
+    public WorldTile tileNear(WorldTile center, int radius) {
+        return new WorldTile(center.getX() + random.nextInt(radius * 2 + 1) - radius,
+                center.getY() + random.nextInt(radius * 2 + 1) - radius, center.getPlane());
+    }
+}
@@ -0,0 +1,241 @@
+package com.rs.game.instance;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.rs.game.tasks.WorldTask;
+import com.rs.game.tasks.WorldTasksManager;
+import com.rs.utils.Logger;
+
+/**
+ * A tick-driven timing wheel owning all of the timed work of a single instance.<br/><br/>
+ * Tasks are hashed into a fixed ring of slots by the tick they are due on, and each tick
+ * only the slot for that tick is walked. Every live scheduler is driven serially, on the
+ * world thread, by one shared {@code WorldTask}, so the world's task list does not grow
+ * with the number of instances, and {@link #cancel()} drops every pending task of the
+ * instance at once, without the tasks having to poll whether their instance is shutting down.
+ * <br/><br/>
+ * Tasks may be scheduled from any thread, and follow the same delay and period rules as
+ * {@code WorldTasksManager}: a task scheduled with a delay of {@code d} and a period of
+ * {@code p} first runs {@code d} ticks later, and then once every {@code p + 1} ticks until
+ * it stops. A task scheduled by another task of the same instance while it runs is picked
+ * up within the same tick, as {@code WorldTasksManager} does with tasks scheduled during
+ * its pass, so a delay of {@code 0} still runs on this tick.
+ * <br/><br/>
+ * Delays given as a bare {@code int} are ticks. This includes the delays carried over
+ * from the unitless {@code executeWithDelay(Runnable, int)} calls the fights used to make,
+ * which the baseline already treated as ticks: combat paired {@code executeWithDelay(impact, 1)}
+ * with {@code delayHit(npc, 1, ...)}, and projectile flight times ({@code getTime() / 335})
+ * were passed to it and to {@code WorldTasksManager} alike. Delays in real time go
+ * through {@link #schedule(Runnable, long, TimeUnit)} or {@link #toTicks(long, TimeUnit)}.
+ * <br/><br/>
+ * The scheduler is also the instance's mailbox: work finished on another thread hands its
+ * result back through {@link #post(Runnable)} rather than touching the instance itself.
+ * Posted actions and tasks are only ever run by the world thread, in the order they were
+ * handed over, so an instance's state needs no locking.
+ * @author David O'Neill (dlo3)
+ */
+public final class InstanceScheduler {
+
+    /** The length of a game tick, in milliseconds. */
+    public static final int TICK_MILLIS = 600;
+
+    private static final int SLOTS = 64;
+    private static final int MASK = SLOTS - 1;
+
+    private static final Queue<InstanceScheduler> live = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean driving = new AtomicBoolean();
+
+    private final String label;
+    private final InstanceTask[] wheel = new InstanceTask[SLOTS];
+    private final Queue<InstanceTask> incoming = new ConcurrentLinkedQueue<>();
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private long tick;
+    private volatile boolean cancelled;
+
+    private InstanceScheduler(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Creates a scheduler for a new instance, and starts driving it on the game tick.
+     * @param label a description of the instance, for logging failed tasks
+     * @return the new scheduler
+     */
+    public static InstanceScheduler create(String label) {
+        InstanceScheduler scheduler = new InstanceScheduler(label);
+        live.offer(scheduler);
+        drive();
+        return scheduler;
+    }
+
+    /**
+     * Posts an action to run at the start of the next tick, before any task due on it.
+     * Actions run in the order they were posted. Actions posted once the scheduler has
+     * been cancelled are dropped.
+     * @param action the action
+     */
+    public void post(Runnable action) {
+        if(!cancelled)
+            mailbox.offer(action);
+    }
+
+    /**
+     * Schedules a task.
+     * @param task the task
+     * @param delay the ticks before the first run
+     * @param period the ticks skipped between runs
+     */
+    public void schedule(InstanceTask task, int delay, int period) {
+        task.due = Math.max(delay, 0);
+        task.period = Math.max(period, 0);
+        incoming.offer(task);
+    }
+
+    /**
+     * Schedules an action to run once.
+     * @param action the action
+     * @param delay the ticks before it runs
+     */
+    public void schedule(Runnable action, int delay) {
+        InstanceTask task = new InstanceTask() {
+            @Override
+            public void run() {
+                action.run();
+            }
+        };
+        task.due = Math.max(delay, 0);
+        task.period = -1;
+        incoming.offer(task);
+    }
+
+    /**
+     * Schedules an action to run once, after a delay given in time rather than ticks.
+     * The delay is rounded up to whole ticks.
+     * @param action the action
+     * @param delay the delay
+     * @param unit the unit of the delay
+     */
+    public void schedule(Runnable action, long delay, TimeUnit unit) {
+        schedule(action, toTicks(delay, unit));
+    }
+
+    /**
+     * Converts a duration to game ticks, rounding up.
+     * @param duration the duration
+     * @param unit the unit of the duration
+     * @return the number of ticks
+     */
+    public static int toTicks(long duration, TimeUnit unit) {
+        return (int) ((unit.toMillis(duration) + TICK_MILLIS - 1) / TICK_MILLIS);
+    }
+
+    /**
+     * Cancels every task of the instance, and stops driving the scheduler.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Tells whether or not the scheduler has been cancelled.
+     * @return {@code true} once {@link #cancel()} has been called
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+    /**
+     * Runs every action posted since the last tick, then every task due on this tick,
+     * including tasks scheduled for this tick by the tasks run before them.
+     */
+    private void process() {
+        Runnable action;
+        while(!cancelled && (action = mailbox.poll()) != null) {
+            try {
+                action.run();
+            } catch(Throwable t) {
+                Logger.log(Logger.DEBUG, "Action posted to " + label + " failed: " + t);
+            }
+        }
+        final int slot = (int) (tick & MASK);
+        InstanceTask later = null;
+        pickUpIncoming();
+        while(wheel[slot] != null && !cancelled) {
+            InstanceTask task = wheel[slot];
+            wheel[slot] = null;
+            while(task != null && !cancelled) {
+                final InstanceTask next = task.next;
+                if(task.due != tick) {
+                    task.next = later;
+                    later = task;
+                } else if(!task.isStopped()) {
+                    task.next = null;
+                    try {
+                        task.run();
+                    } catch(Throwable t) {
+                        Logger.log(Logger.DEBUG, "Task of " + label + " failed: " + t);
+                        task.stop();
+                    }
+                    if(task.period >= 0 && !task.isStopped()) {
+                        task.due = tick + task.period + 1;
+                        insert(task);
+                    }
+                }
+                task = next;
+            }
+            pickUpIncoming();
+        }
+        while(later != null) {
+            final InstanceTask next = later.next;
+            insert(later);
+            later = next;
+        }
+        tick++;
+    }
+
+    /**
+     * Moves every newly scheduled task onto the wheel, counting its delay from this tick.
+     */
+    private void pickUpIncoming() {
+        InstanceTask task;
+        while((task = incoming.poll()) != null) {
+            task.due += tick;
+            insert(task);
+        }
+    }
+
+    private void insert(InstanceTask task) {
+        final int slot = (int) (task.due & MASK);
+        task.next = wheel[slot];
+        wheel[slot] = task;
+    }
+
+    /**
+     * Starts the shared driver task, if it has not been started yet.
+     */
+    private static void drive() {
+        if(driving.get() || !driving.compareAndSet(false, true))
+            return;
+        WorldTasksManager.schedule(new WorldTask() {
+            @Override
+            public void run() {
+                for(Iterator<InstanceScheduler> it = live.iterator(); it.hasNext();) {
+                    InstanceScheduler scheduler = it.next();
+                    if(scheduler.cancelled)
+                        it.remove();
+                    else
+                        scheduler.process();
+                }
+            }
+        }, 0, 0);
+    }
+}
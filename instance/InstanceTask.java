@@ -0,0 +1,40 @@
+package com.rs.game.instance;
+
+/**
+ * A unit of timed work scheduled on an {@link InstanceScheduler}.<br/><br/>
+ * This mirrors {@code WorldTask}, so a task is written the same way: {@link #run()} is
+ * invoked on the game tick, and calls {@link #stop()} once it has nothing left to do.
+ * The scheduler links tasks through the task itself, so a scheduled task costs no more
+ * than the task object, and nothing refers to it once it has stopped.
+ * @author David O'Neill (dlo3)
+ */
+public abstract class InstanceTask {
+
+    /** The next task in the same wheel slot. */
+    InstanceTask next;
+    /** The tick the task next runs on. */
+    long due;
+    /** The ticks skipped between runs, or -1 for a task which runs once. */
+    int period;
+    private boolean stopped;
+
+    /**
+     * Performs the task's work for this tick.
+     */
+    public abstract void run();
+
+    /**
+     * Stops the task, so it is not run again.
+     */
+    public final void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Tells whether or not the task has been stopped.
+     * @return {@code true} once {@link #stop()} has been called
+     */
+    public final boolean isStopped() {
+        return stopped;
+    }
+}
@@ -0,0 +1,115 @@
+package com.rs.game.instance;
+
+import com.rs.game.WorldTile;
+
+/**
+ * An immutable mapping from ground-truth coordinates to the coordinates of an
+ * instanced copy of the same map.<br/><br/>
+ * The offsets are computed once when the instance is bound, so converting a coordinate
+ * is plain arithmetic. Coordinates are mapped to {@code int}s, or to tiles packed in the
+ * same layout as {@link WorldTile#getTileHash()}, and a {@code WorldTile} is only
+ * created when content asks for one.
+ * @author David O'Neill (dlo3)
+ */
+public final class InstanceTransform {
+
+    private final int originX;
+    private final int originY;
+    private final int baseX;
+    private final int baseY;
+    private final int wrapX;
+    private final int wrapY;
+
+    /**
+     * Creates a transform between two chunk-aligned areas.
+     * @param trueChunkX the chunk x coordinate of the ground-truth south-west chunk
+     * @param trueChunkY the chunk y coordinate of the ground-truth south-west chunk
+     * @param boundChunkX the chunk x coordinate of the instance's south-west chunk
+     * @param boundChunkY the chunk y coordinate of the instance's south-west chunk
+     * @param wrapX the distance along x after which ground-truth coordinates wrap around
+     * @param wrapY the distance along y after which ground-truth coordinates wrap around
+     */
+    public InstanceTransform(int trueChunkX, int trueChunkY, int boundChunkX, int boundChunkY,
+                             int wrapX, int wrapY) {
+        this.originX = trueChunkX * 8;
+        this.originY = trueChunkY * 8;
+        this.baseX = boundChunkX * 8;
+        this.baseY = boundChunkY * 8;
+        this.wrapX = wrapX;
+        this.wrapY = wrapY;
+    }
+
+    /**
+     * Maps a ground-truth x coordinate into the instance.
+     * @param trueX the ground-truth x coordinate
+     * @return the instance x coordinate
+     */
+    public int x(int trueX) {
+        return baseX + (trueX - originX) % wrapX;
+    }
+
+    /**
+     * Maps a ground-truth y coordinate into the instance.
+     * @param trueY the ground-truth y coordinate
+     * @return the instance y coordinate
+     */
+    public int y(int trueY) {
+        return baseY + (trueY - originY) % wrapY;
+    }
+
+    /**
+     * Maps a ground-truth location into the instance, without creating a tile.
+     * @param trueX the ground-truth x coordinate
+     * @param trueY the ground-truth y coordinate
+     * @param plane the plane
+     * @return the packed instance location, see {@link #unpack(int)}
+     */
+    public int pack(int trueX, int trueY, int plane) {
+        return y(trueY) | x(trueX) << 14 | plane << 28;
+    }
+
+    /**
+     * Creates the tile for a packed location.
+     * @param packed the packed location
+     * @return the tile
+     */
+    public static WorldTile unpack(int packed) {
+        return new WorldTile(packed >> 14 & 0x3fff, packed & 0x3fff, packed >> 28);
+    }
+
+    /**
+     * Maps a ground-truth location into the instance.
+     * @param trueX the ground-truth x coordinate
+     * @param trueY the ground-truth y coordinate
+     * @param plane the plane
+     * @return a new tile at the instance location
+     */
+    public WorldTile tile(int trueX, int trueY, int plane) {
+        return new WorldTile(x(trueX), y(trueY), plane);
+    }
+
+    /**
+     * Maps a ground-truth tile into the instance.
+     * @param tile the ground-truth tile
+     * @return a new tile at the instance location
+     */
+    public WorldTile tile(WorldTile tile) {
+        return tile(tile.getX(), tile.getY(), tile.getPlane());
+    }
+
+    /**
+     * Accessor to the x coordinate of the instance's south-west tile.
+     * @return the base x coordinate
+     */
+    public int getBaseX() {
+        return baseX;
+    }
+
+    /**
+     * Accessor to the y coordinate of the instance's south-west tile.
+     * @return the base y coordinate
+     */
+    public int getBaseY() {
+        return baseY;
+    }
+}
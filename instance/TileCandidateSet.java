@@ -0,0 +1,150 @@
+package com.rs.game.instance;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A set of candidate tiles within a rectangle, stored as packed {@code int}s.<br/><br/>
+ * Tiles are kept densely in one array, with a slot table mapping each tile of the
+ * rectangle to its position in that array, so adding, removing and drawing a uniformly
+ * random tile all take constant time and allocate nothing. The owner keeps the set in
+ * step with the region by calling {@link #refresh(int, int, int, int, TileFilter)} after
+ * every clip or object edit, so a draw never has to be retried.
+ * @author David O'Neill (dlo3)
+ */
+public final class TileCandidateSet {
+
+    /**
+     * Decides whether or not a tile is currently a candidate.
+     */
+    @FunctionalInterface
+    public interface TileFilter {
+        boolean test(int x, int y);
+    }
+
+    private final int baseX;
+    private final int baseY;
+    private final int width;
+    private final int height;
+    /** The packed candidates, densely stored in {@code [0, size)}. */
+    private final int[] tiles;
+    /** The position of each tile of the rectangle in {@link #tiles}, or -1 if absent. */
+    private final int[] slots;
+    private int size;
+
+    /**
+     * Creates an empty set over a rectangle of tiles.
+     * @param baseX the x coordinate of the south-west tile
+     * @param baseY the y coordinate of the south-west tile
+     * @param width the width of the rectangle in tiles
+     * @param height the height of the rectangle in tiles
+     */
+    public TileCandidateSet(int baseX, int baseY, int width, int height) {
+        this.baseX = baseX;
+        this.baseY = baseY;
+        this.width = width;
+        this.height = height;
+        this.tiles = new int[width * height];
+        this.slots = new int[width * height];
+        Arrays.fill(slots, -1);
+    }
+
+    /**
+     * Adds a tile to the set.
+     * @param x the tile x coordinate
+     * @param y the tile y coordinate
+     */
+    public void add(int x, int y) {
+        if(!inBounds(x, y))
+            return;
+        final int index = index(x, y);
+        if(slots[index] != -1)
+            return;
+        slots[index] = size;
+        tiles[size++] = WalkableTileIndex.pack(x, y);
+    }
+
+    /**
+     * Removes a tile from the set, by moving the last candidate into its place.
+     * @param x the tile x coordinate
+     * @param y the tile y coordinate
+     */
+    public void remove(int x, int y) {
+        if(!inBounds(x, y))
+            return;
+        final int index = index(x, y);
+        final int slot = slots[index];
+        if(slot == -1)
+            return;
+        final int last = tiles[--size];
+        tiles[slot] = last;
+        slots[index(WalkableTileIndex.unpackX(last), WalkableTileIndex.unpackY(last))] = slot;
+        slots[index] = -1;
+    }
+
+    /**
+     * Tells whether or not a tile is in the set.
+     * @param x the tile x coordinate
+     * @param y the tile y coordinate
+     * @return {@code true} if the tile is a candidate
+     */
+    public boolean contains(int x, int y) {
+        return inBounds(x, y) && slots[index(x, y)] != -1;
+    }
+
+    /**
+     * Re-tests the tiles of the set's rectangle which fall within an area, adding or
+     * removing each according to the filter.
+     * @param x the x coordinate of the south-west tile of the area
+     * @param y the y coordinate of the south-west tile of the area
+     * @param sizeX the width of the area
+     * @param sizeY the height of the area
+     * @param filter decides which tiles are candidates
+     */
+    public void refresh(int x, int y, int sizeX, int sizeY, TileFilter filter) {
+        final int fromX = Math.max(x, baseX), toX = Math.min(x + sizeX, baseX + width);
+        final int fromY = Math.max(y, baseY), toY = Math.min(y + sizeY, baseY + height);
+        for(int tileX = fromX; tileX < toX; tileX++) {
+            for(int tileY = fromY; tileY < toY; tileY++) {
+                if(filter.test(tileX, tileY))
+                    add(tileX, tileY);
+                else
+                    remove(tileX, tileY);
+            }
+        }
+    }
+
+    /**
+     * Re-tests every tile of the set's rectangle.
+     * @param filter decides which tiles are candidates
+     */
+    public void rebuild(TileFilter filter) {
+        refresh(baseX, baseY, width, height, filter);
+    }
+
+    /**
+     * Draws a uniformly random candidate.
+     * @param random the random source
+     * @return the packed tile, see {@link WalkableTileIndex#unpackX(int)} and
+     *         {@link WalkableTileIndex#unpackY(int)}, or {@code -1} if the set is empty
+     */
+    public int sample(SplittableRandom random) {
+        return size == 0 ? -1 : tiles[random.nextInt(size)];
+    }
+
+    /**
+     * Accessor to the number of candidates.
+     * @return the size of the set
+     */
+    public int size() {
+        return size;
+    }
+
+    private boolean inBounds(int x, int y) {
+        return x >= baseX && x < baseX + width && y >= baseY && y < baseY + height;
+    }
+
+    private int index(int x, int y) {
+        return (y - baseY) * width + (x - baseX);
+    }
+}
@@ -0,0 +1,138 @@
+package com.rs.game.instance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.rs.game.player.Player;
+
+/**
+ * Spatial trigger zones over one plane of an instanced region.<br/><br/>
+ * An instance registers up to 32 rectangular or masked zones, each with a
+ * {@link Trigger}, and every tile of the instance stores the set of zones covering it as
+ * one {@code int}. A controller keeps the set of zones its player was last in, and passes
+ * every walk step through {@link #step(Player, int, int, int)}: a step which stays within
+ * the same zones costs one array read, and callbacks only fire when a zone is entered or
+ * left.
+ * @author David O'Neill (dlo3)
+ */
+public final class TriggerZones {
+
+    /**
+     * The callbacks of a zone.
+     */
+    @FunctionalInterface
+    public interface Trigger {
+
+        /**
+         * Invoked when a player steps into the zone.
+         * @param player the player
+         */
+        void onEnter(Player player);
+
+        /**
+         * Invoked when a player steps out of the zone.
+         * @param player the player
+         */
+        default void onExit(Player player) { }
+    }
+
+    private final int baseX;
+    private final int baseY;
+    private final int width;
+    private final int height;
+    private final int plane;
+    private final int[] zones;
+    private final List<Trigger> triggers = new ArrayList<>();
+
+    /**
+     * Creates an instance's trigger zones, with none registered.
+     * @param baseX the x coordinate of the south-west tile
+     * @param baseY the y coordinate of the south-west tile
+     * @param width the width of the instance in tiles
+     * @param height the height of the instance in tiles
+     * @param plane the plane the zones are on
+     */
+    public TriggerZones(int baseX, int baseY, int width, int height, int plane) {
+        this.baseX = baseX;
+        this.baseY = baseY;
+        this.width = width;
+        this.height = height;
+        this.plane = plane;
+        this.zones = new int[width * height];
+    }
+
+    /**
+     * Registers a rectangular zone. The rectangle is clipped to the instance.
+     * @param fromX the x coordinate of the south-west tile, inclusive
+     * @param fromY the y coordinate of the south-west tile, inclusive
+     * @param toX the x coordinate of the north-east tile, inclusive
+     * @param toY the y coordinate of the north-east tile, inclusive
+     * @param trigger the zone's callbacks
+     * @return the zone's bit in the sets returned by {@link #step(Player, int, int, int)}
+     */
+    public int register(int fromX, int fromY, int toX, int toY, Trigger trigger) {
+        return register((x, y) -> x >= fromX && x <= toX && y >= fromY && y <= toY, trigger);
+    }
+
+    /**
+     * Registers a zone covering every tile of the instance which passes a filter.
+     * The filter is only run while the zone is registered.
+     * @param filter decides which tiles are in the zone
+     * @param trigger the zone's callbacks
+     * @return the zone's bit in the sets returned by {@link #step(Player, int, int, int)}
+     */
+    public int register(TileCandidateSet.TileFilter filter, Trigger trigger) {
+        if(triggers.size() == Integer.SIZE)
+            throw new IllegalStateException("Too many trigger zones");
+        final int bit = 1 << triggers.size();
+        triggers.add(trigger);
+        for(int y = baseY; y < baseY + height; y++) {
+            for(int x = baseX; x < baseX + width; x++) {
+                if(filter.test(x, y))
+                    zones[index(x, y)] |= bit;
+            }
+        }
+        return bit;
+    }
+
+    /**
+     * Looks up the zones covering a tile.
+     * @param x the tile x coordinate
+     * @param y the tile y coordinate
+     * @return the set of zone bits, or 0 outside the instance
+     */
+    public int zonesAt(int x, int y) {
+        if(x < baseX || x >= baseX + width || y < baseY || y >= baseY + height)
+            return 0;
+        return zones[index(x, y)];
+    }
+
+    /**
+     * Moves a player onto a tile, firing the triggers of every zone entered or left.
+     * @param player the player walking
+     * @param previous the set of zones the player was in before the step
+     * @param x the x coordinate of the tile stepped onto
+     * @param y the y coordinate of the tile stepped onto
+     * @return the set of zones the player is in after the step, to be passed back in
+     *         on the next step
+     */
+    public int step(Player player, int previous, int x, int y) {
+        final int current = player.getPlane() == plane ? zonesAt(x, y) : 0;
+        final int changed = previous ^ current;
+        if(changed == 0)
+            return current;
+        for(int bits = changed; bits != 0; bits &= bits - 1) {
+            final int bit = Integer.lowestOneBit(bits);
+            final Trigger trigger = triggers.get(Integer.numberOfTrailingZeros(bit));
+            if((current & bit) != 0)
+                trigger.onEnter(player);
+            else
+                trigger.onExit(player);
+        }
+        return current;
+    }
+
+    private int index(int x, int y) {
+        return (y - baseY) * width + (x - baseX);
+    }
+}
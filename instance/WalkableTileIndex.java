@@ -0,0 +1,163 @@
+package com.rs.game.instance;
+
+import java.util.SplittableRandom;
+
+import com.rs.game.World;
+
+/**
+ * A packed index of the walkable tiles on one plane of an instanced region.<br/><br/>
+ * One bit is kept per tile, set if a 1x1 NPC can stand there. The index is built once
+ * after the region is built, and the owner refreshes the tiles around every clip or object
+ * edit, so queries never have to ask the region map. Tiles can also be reserved, which
+ * keeps them from being chosen by {@link #randomGrid(int, int, int, SplittableRandom)}.
+ * @author David O'Neill (dlo3)
+ */
+public final class WalkableTileIndex {
+
+    private final int baseX;
+    private final int baseY;
+    private final int plane;
+    private final int width;
+    private final int height;
+    private final long[] walkable;
+    private final long[] reserved;
+
+    /**
+     * Creates an empty index over a rectangle of tiles.
+     * @param baseX the x coordinate of the south-west tile
+     * @param baseY the y coordinate of the south-west tile
+     * @param width the width of the rectangle in tiles
+     * @param height the height of the rectangle in tiles
+     * @param plane the plane indexed
+     */
+    public WalkableTileIndex(int baseX, int baseY, int width, int height, int plane) {
+        this.baseX = baseX;
+        this.baseY = baseY;
+        this.plane = plane;
+        this.width = width;
+        this.height = height;
+        this.walkable = new long[(width * height + 63) >> 6];
+        this.reserved = new long[walkable.length];
+    }
+
+    /**
+     * Reads every tile in the rectangle from the region map.
+     */
+    public void rebuild() {
+        refresh(baseX, baseY, width, height);
+    }
+
+    /**
+     * Reads a rectangle of tiles from the region map again, after they were clipped,
+     * unclipped, or had an object spawned or removed on them.
+     * @param x the x coordinate of the south-west tile
+     * @param y the y coordinate of the south-west tile
+     * @param sizeX the width of the rectangle
+     * @param sizeY the height of the rectangle
+     */
+    public void refresh(int x, int y, int sizeX, int sizeY) {
+        final int fromX = Math.max(x, baseX), toX = Math.min(x + sizeX, baseX + width);
+        final int fromY = Math.max(y, baseY), toY = Math.min(y + sizeY, baseY + height);
+        for(int tileX = fromX; tileX < toX; tileX++) {
+            for(int tileY = fromY; tileY < toY; tileY++)
+                set(walkable, index(tileX, tileY), World.canMoveNPC(plane, tileX, tileY, 1));
+        }
+    }
+
+    /**
+     * Keeps a tile from being chosen as a grid origin.
+     * @param x the tile x coordinate
+     * @param y the tile y coordinate
+     */
+    public void reserve(int x, int y) {
+        if(contains(x, y))
+            set(reserved, index(x, y), true);
+    }
+
+    /**
+     * Tells whether or not a tile is walkable.
+     * @param x the tile x coordinate
+     * @param y the tile y coordinate
+     * @return {@code true} if the tile is in the index and walkable
+     */
+    public boolean isWalkable(int x, int y) {
+        return contains(x, y) && get(walkable, index(x, y));
+    }
+
+    /**
+     * Picks a uniformly random 2x2 grid of walkable tiles near a center tile. The grid is
+     * identified by its origin {@code (x, y)}, and covers {@code (x, y)}, {@code (x, y + 1)},
+     * {@code (x - 1, y)} and {@code (x - 1, y + 1)}. The origin is never the center tile or a
+     * reserved tile. Every origin within the radius is checked once, so the time taken is
+     * bounded by the size of the radius, and nothing is allocated.
+     * @param centerX the center tile x coordinate
+     * @param centerY the center tile y coordinate
+     * @param radius the maximum distance of the origin from the center on each axis
+     * @param random the random source
+     * @return the packed origin, see {@link #unpackX(int)} and {@link #unpackY(int)},
+     *         or {@code -1} if there is no walkable grid within the radius
+     */
+    public int randomGrid(int centerX, int centerY, int radius, SplittableRandom random) {
+        int chosen = -1;
+        int candidates = 0;
+        for(int x = centerX - radius; x <= centerX + radius; x++) {
+            for(int y = centerY - radius; y <= centerY + radius; y++) {
+                if(x == centerX && y == centerY)
+                    continue;
+                if(!isWalkable(x, y) || get(reserved, index(x, y)) || !isWalkable(x, y + 1)
+                        || !isWalkable(x - 1, y) || !isWalkable(x - 1, y + 1))
+                    continue;
+                if(random.nextInt(++candidates) == 0)
+                    chosen = pack(x, y);
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Packs a tile coordinate pair into an {@code int}.
+     * @param x the tile x coordinate
+     * @param y the tile y coordinate
+     * @return the packed coordinates
+     */
+    public static int pack(int x, int y) {
+        return x << 16 | y;
+    }
+
+    /**
+     * Unpacks the x coordinate of a packed tile.
+     * @param packed the packed coordinates
+     * @return the tile x coordinate
+     */
+    public static int unpackX(int packed) {
+        return packed >>> 16;
+    }
+
+    /**
+     * Unpacks the y coordinate of a packed tile.
+     * @param packed the packed coordinates
+     * @return the tile y coordinate
+     */
+    public static int unpackY(int packed) {
+        return packed & 0xFFFF;
+    }
+
+    private boolean contains(int x, int y) {
+        return x >= baseX && x < baseX + width && y >= baseY && y < baseY + height;
+    }
+
+    private int index(int x, int y) {
+        return (y - baseY) * width + (x - baseX);
+    }
+
+    private static boolean get(long[] bits, int index) {
+        return (bits[index >> 6] & 1L << index) != 0;
+    }
+
+    private static void set(long[] bits, int index, boolean value) {
+        if(value)
+            bits[index >> 6] |= 1L << index;
+        else
+            bits[index >> 6] &= ~(1L << index);
+    }
+}
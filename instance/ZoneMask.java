@@ -0,0 +1,123 @@
+package com.rs.game.instance;
+
+import java.util.List;
+
+import com.rs.game.WorldTile;
+
+/**
+ * A set of named zones rasterized over the tile space of an instanced region.<br/><br/>
+ * Each zone is one bit per tile, filled once when the instance is built from whatever
+ * shape describes it, so checking whether an entity stands in a zone is a single bit
+ * test instead of repeating the geometry every tick. Zones are keyed by the constants
+ * of an enum owned by the content, and ignore the plane.
+ * @param <Z> the enum naming the zones
+ * @author David O'Neill (dlo3)
+ */
+public final class ZoneMask<Z extends Enum<Z>> {
+
+    private final int baseX;
+    private final int baseY;
+    private final int width;
+    private final int height;
+    private final long[][] zones;
+
+    /**
+     * Creates a mask with every zone empty.
+     * @param zoneType the enum naming the zones
+     * @param baseX the x coordinate of the south-west tile of the instance
+     * @param baseY the y coordinate of the south-west tile of the instance
+     * @param width the width of the instance in tiles
+     * @param height the height of the instance in tiles
+     */
+    public ZoneMask(Class<Z> zoneType, int baseX, int baseY, int width, int height) {
+        this.baseX = baseX;
+        this.baseY = baseY;
+        this.width = width;
+        this.height = height;
+        this.zones = new long[zoneType.getEnumConstants().length][(width * height + 63) >> 6];
+    }
+
+    /**
+     * Adds a rectangle of tiles to a zone. The rectangle is clipped to the instance.
+     * @param zone the zone to fill
+     * @param fromX the x coordinate of the south-west tile, inclusive
+     * @param fromY the y coordinate of the south-west tile, inclusive
+     * @param toX the x coordinate of the north-east tile, inclusive
+     * @param toY the y coordinate of the north-east tile, inclusive
+     */
+    public void fillRectangle(Z zone, int fromX, int fromY, int toX, int toY) {
+        final long[] bits = zones[zone.ordinal()];
+        for(int x = Math.max(fromX, baseX); x <= Math.min(toX, baseX + width - 1); x++) {
+            for(int y = Math.max(fromY, baseY); y <= Math.min(toY, baseY + height - 1); y++)
+                set(bits, index(x, y));
+        }
+    }
+
+    /**
+     * Adds every tile inside a polygon to a zone. Each tile within the polygon's bounds
+     * is passed through the same integer ray-crossing test the zone used to be checked
+     * with at runtime, so the rasterized zone matches it tile for tile.
+     * @param zone the zone to fill
+     * @param vertices the vertices of the polygon, in order
+     */
+    public void fillPolygon(Z zone, List<WorldTile> vertices) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for(WorldTile vertex : vertices) {
+            minX = Math.min(minX, vertex.getX());
+            minY = Math.min(minY, vertex.getY());
+            maxX = Math.max(maxX, vertex.getX());
+            maxY = Math.max(maxY, vertex.getY());
+        }
+        final long[] bits = zones[zone.ordinal()];
+        for(int x = Math.max(minX, baseX); x <= Math.min(maxX, baseX + width - 1); x++) {
+            for(int y = Math.max(minY, baseY); y <= Math.min(maxY, baseY + height - 1); y++) {
+                if(crosses(vertices, x, y))
+                    set(bits, index(x, y));
+            }
+        }
+    }
+
+    /**
+     * Tells whether or not a tile is in a zone.
+     * @param zone the zone to check
+     * @param x the tile x coordinate
+     * @param y the tile y coordinate
+     * @return {@code true} if the tile is in the zone
+     */
+    public boolean contains(Z zone, int x, int y) {
+        if(x < baseX || x >= baseX + width || y < baseY || y >= baseY + height)
+            return false;
+        final int index = index(x, y);
+        return (zones[zone.ordinal()][index >> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * Tells whether or not a tile is in a zone.
+     * @param zone the zone to check
+     * @param tile the tile
+     * @return {@code true} if the tile is in the zone
+     */
+    public boolean contains(Z zone, WorldTile tile) {
+        return contains(zone, tile.getX(), tile.getY());
+    }
+
+    private static boolean crosses(List<WorldTile> vertices, int x, int y) {
+        boolean inside = false;
+        for(int i = 0, j = vertices.size() - 1; i < vertices.size(); j = i++) {
+            final WorldTile a = vertices.get(i), b = vertices.get(j);
+            if ((a.getY() > y) != (b.getY() > y) &&
+                    (x < (b.getX() - a.getX()) * (y - a.getY()) / (b.getY() - a.getY()) + a.getX()))
+                inside = !inside;
+        }
+        return inside;
+    }
+
+    private int index(int x, int y) {
+        return (y - baseY) * width + (x - baseX);
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >> 6] |= 1L << index;
+    }
+}
@@ -1,12 +1,23 @@
 package com.rs.game.minigames.pyramidplunder;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import com.rs.game.RegionBuilder;
+import com.rs.game.WorldObject;
 import com.rs.game.WorldTile;
+import com.rs.game.instance.InstanceChunkAllocator;
+import com.rs.game.instance.InstanceOverlay;
 import com.rs.game.player.Player;
+import com.rs.game.tasks.WorldTask;
+import com.rs.game.tasks.WorldTasksManager;
+import com.rs.utils.Logger;
 /**
  * 
  * A Pyramid Plunder {@code Floor} object.<br><br>
@@ -21,12 +32,42 @@ public class Floor
 {
 	/** The {@link Player} running this floor. {@code transient} so as to avoid serializing issues. */
 	private transient Player player;
-	/** An {@code int} array containing map chunk information about this floor. */
-	private int[] boundChunks;
+	/** An {@code int} array containing map chunk information about this floor. {@code volatile} as it is set on the {@link FloorExecutor} and read on the game thread. */
+	private volatile int[] boundChunks;
 	/** The {@link PPFloors} enumerator encapsulating relevant information about this floor. */
 	private PPFloors floorPlan;
-	/** The start location of this floor. */
-	private WorldTile startTile;
+	/** The start location of this floor. {@code volatile} as it is set on the {@link FloorExecutor} and read on the game thread. */
+	private volatile WorldTile startTile;
+	/** Completes once the floor map has been generated. {@code transient} so as to avoid serializing issues. */
+	private transient CompletableFuture<Void> ready;
+	/** The objects spawned on this floor while it is looted. {@code transient} so as to avoid serializing issues. */
+	private transient InstanceOverlay overlay;
+	
+	/** The maximum number of built, unused regions kept for each floor plan. */
+	private static final int BUILT_CAPACITY = 4;
+	/** Built regions released by finished floors, reverted to their template state and ready to be entered again. */
+	private static final Map<PPFloors, Queue<int[]>> BUILT = new EnumMap<>(PPFloors.class);
+	/** Allocates the chunks of every floor, through the {@link RegionBuilder}. */
+	private static final InstanceChunkAllocator ALLOCATOR = new InstanceChunkAllocator(new InstanceChunkAllocator.Builder()
+	{
+		@Override
+		public int[] findEmptyChunkBound(int width, int height)
+		{
+			return RegionBuilder.findEmptyChunkBound(width, height);
+		}
+		
+		@Override
+		public void destroyMap(int chunkX, int chunkY, int width, int height)
+		{
+			RegionBuilder.destroyMap(chunkX, chunkY, width, height);
+		}
+	});
+	
+	static
+	{
+		for(PPFloors floorPlan : PPFloors.values())
+			BUILT.put(floorPlan, new ConcurrentLinkedQueue<>());
+	}
 	
 	/**
 	 * Instantiates a {@code Floor} object, generates the map, and sends the player tot he start tile.
@@ -34,10 +75,74 @@ public class Floor
 	 * @param floorPlan
 	 */
 	public Floor(Player player, PPFloors floorPlan)
+	{
+		this(player, floorPlan, true);
+	}
+	
+	/**
+	 * Instantiates a {@code Floor} object and generates the map, optionally sending the player
+	 * to the start tile once the map is ready.
+	 * @param player
+	 * @param floorPlan
+	 * @param enter : whether to send the player to the floor once it is generated
+	 */
+	private Floor(Player player, PPFloors floorPlan, boolean enter)
 	{
 		this.player = player;
 		this.floorPlan = floorPlan;
 		generateFloor(this.floorPlan);
+		if(enter)
+			enter();
+	}
+	
+	/**
+	 * Speculatively generates a floor in the background without sending the player to it.
+	 * The floor is entered later with {@link Floor#enter()}, or released with
+	 * {@link Floor#destroyFloor(PPFloors)} if the player never gets there.
+	 * @param player
+	 * @param floorPlan
+	 * @return the prefetched floor
+	 */
+	static Floor prefetch(Player player, PPFloors floorPlan)
+	{
+		return new Floor(player, floorPlan, false);
+	}
+	
+	/**
+	 * Sends the player to the start tile of this floor on the first game tick after the
+	 * map is generated. The map may finish on the {@link FloorExecutor}, so the move is
+	 * handed to the game tick rather than made on the thread completing the map.
+	 */
+	void enter()
+	{
+		ready.thenRun(() -> WorldTasksManager.schedule(new WorldTask()
+		{
+			@Override
+			public void run()
+			{
+				stop();
+				player.setNextWorldTile(startTile);
+			}
+		}, 0));
+	}
+	
+	/**
+	 * Tells whether or not the map for this floor has finished generating.
+	 * @return {@code true} if the floor can be entered without waiting on the map
+	 */
+	boolean isReady()
+	{
+		return ready.isDone() && !ready.isCompletedExceptionally();
+	}
+	
+	/**
+	 * Spawns an object on this floor, such as a searched urn or an opened chest.
+	 * The object is removed again when the floor is released.
+	 * @param object : the object to spawn
+	 */
+	void spawnObject(WorldObject object)
+	{
+		overlay.spawnObject(object);
 	}
 	
 	/**
@@ -59,48 +164,154 @@ public class Floor
 	}
 	
 	/**
-	 * Destroy the supplied floor plan chunks
+	 * Destroy the supplied floor plan chunks.<br><br>
+	 * The teardown never blocks the calling thread: it waits for the floor to finish
+	 * generating, then releases the region two game ticks later, giving the fading
+	 * screen time to cover the transition. The objects spawned on the floor are reverted
+	 * on the game tick, and the built region is kept for the next player to reach this
+	 * floor; if enough regions are already kept, the map is destroyed on the
+	 * {@link FloorExecutor} and the chunks are handed back to the {@link InstanceChunkAllocator}.
 	 * @param floorPlan
+	 * @param onFailure : invoked with the cause if the region could not be released
+	 * @return a completion handle for the teardown
 	 */
-	public void destroyFloor(final PPFloors floorPlan)
+	public CompletableFuture<Void> destroyFloor(final PPFloors floorPlan, final Consumer<Throwable> onFailure)
 	{
-		try
+		CompletableFuture<Void> teardown = ready.thenCompose(built -> releaseRegion(floorPlan));
+		teardown.whenComplete((done, failure) -> 
+		{
+			if(failure != null)
+				onFailure.accept(failure);
+		});
+		return teardown;
+	}
+	
+	/**
+	 * Reverts the floor's objects and clip edits on the game tick, where players in
+	 * neighbouring instances are processed, then keeps the region or destroys its map.
+	 * @param floorPlan
+	 * @return a completion handle for the release
+	 */
+	private CompletableFuture<Void> releaseRegion(final PPFloors floorPlan)
+	{
+		CompletableFuture<Void> released = new CompletableFuture<>();
+		WorldTasksManager.schedule(new WorldTask()
 		{
-			Executors.newSingleThreadScheduledExecutor().schedule(
-					() -> 
+			@Override
+			public void run()
+			{
+				stop();
+				try
+				{
+					overlay.revert();
+					Queue<int[]> kept = BUILT.get(floorPlan);
+					if(kept.size() < BUILT_CAPACITY)
 					{
-						RegionBuilder.destroyMap(boundChunks[0], boundChunks[1],
-								floorPlan.getDimension(), floorPlan.getDimension());
-					}, 1200, TimeUnit.MILLISECONDS
-			).get();
+						kept.offer(boundChunks);
+						released.complete(null);
+						return;
+					}
+				}
+				catch(Throwable t)
+				{
+					released.completeExceptionally(t);
+					return;
+				}
+				FloorExecutor.submitWithDelay(() -> 
+				{
+					ALLOCATOR.free(boundChunks[0], boundChunks[1],
+							floorPlan.getDimension(), floorPlan.getDimension());
+				}, 0, TimeUnit.MILLISECONDS).whenComplete((done, failure) -> 
+				{
+					if(failure != null)
+						released.completeExceptionally(failure);
+					else
+						released.complete(null);
+				});
+			}
+		}, 2);
+		return released;
+	}
+	
+	/**
+	 * Destroy the supplied floor plan chunks, logging any failure.
+	 * @param floorPlan
+	 * @return a completion handle for the teardown
+	 * @see Floor#destroyFloor(PPFloors, Consumer)
+	 */
+	public CompletableFuture<Void> destroyFloor(final PPFloors floorPlan)
+	{
+		return destroyFloor(floorPlan, failure -> 
+				Logger.log(Logger.DEBUG, "Failed to destroy Pyramid Plunder " + floorPlan + " for " 
+						+ player.getDisplayName() + ": " + failure));
+	}
+	
+	/**
+	 * Generate the floor based on the supplied floor plan.<br><br>
+	 * A region left behind by an earlier run of this floor is reused when there is one,
+	 * which makes the floor ready immediately. Otherwise the template chunks are copied
+	 * into a new region on the {@link FloorExecutor}.
+	 * @param floorPlan
+	 */
+	private void generateFloor(final PPFloors floorPlan)
+	{
+		ready = new CompletableFuture<>();
+		overlay = new InstanceOverlay();
+		int[] built = BUILT.get(floorPlan).poll();
+		if(built != null)
+		{
+			boundChunks = built;
+			initializeStartTile(floorPlan);
+			ready.complete(null);
+			return;
+		}
+		try
+		{
+			FloorExecutor.execute(() -> 
+			{
+				try
+				{
+					boundChunks = ALLOCATOR.allocate(floorPlan.getDimension(), floorPlan.getDimension());
+					
+					RegionBuilder.copyAllPlanesMap(floorPlan.getSouthEastChunks()[0], floorPlan.getSouthEastChunks()[1], 
+							boundChunks[0], boundChunks[1], floorPlan.getDimension());
+					
+					initializeStartTile(floorPlan);
+					
+					ready.complete(null);
+				}
+				catch(Throwable t)
+				{
+					releaseFailedRegion(floorPlan);
+					ready.completeExceptionally(t);
+				}
+			});
 		}
-		catch(InterruptedException | ExecutionException e)
+		catch(RejectedExecutionException e)
 		{
-			e.printStackTrace();
+			ready.completeExceptionally(e);
 		}
 	}
 	
 	/**
-	 * Generate the floor based on the supplied floor plan
+	 * Frees the chunks of a floor whose generation failed part way, logging rather than
+	 * throwing if that fails too, so the floor still reports the original failure.
 	 * @param floorPlan
 	 */
-	private void generateFloor(final PPFloors floorPlan)
+	private void releaseFailedRegion(PPFloors floorPlan)
 	{
-		Executors.newSingleThreadScheduledExecutor().execute(() -> 
+		if(boundChunks == null)
+			return;
+		try
 		{
-			
-			boundChunks = RegionBuilder.findEmptyChunkBound(floorPlan.getDimension(), floorPlan.getDimension());
-			
-			RegionBuilder.copyAllPlanesMap(floorPlan.getNorthWestChunks()[0], floorPlan.getNorthWestChunks()[1], 
-					boundChunks[0], boundChunks[1], floorPlan.getDimension());
-			RegionBuilder.copyAllPlanesMap(floorPlan.getSouthEastChunks()[0], floorPlan.getSouthEastChunks()[1], 
-					boundChunks[0], boundChunks[1], floorPlan.getDimension());
-			
-			initializeStartTile(floorPlan);
-			
-			player.setNextWorldTile(startTile);
-			
-		});
+			ALLOCATOR.free(boundChunks[0], boundChunks[1], floorPlan.getDimension(), floorPlan.getDimension());
+		}
+		catch(Throwable t)
+		{
+			Logger.log(Logger.DEBUG, "Failed to free Pyramid Plunder " + floorPlan + " for " 
+					+ player.getDisplayName() + ": " + t);
+		}
+		boundChunks = null;
 	}
 	
 	/**
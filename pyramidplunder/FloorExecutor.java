@@ -0,0 +1,173 @@
+package com.rs.game.minigames.pyramidplunder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.rs.cores.CoresManager;
+import com.rs.utils.Logger;
+
+/**
+ *
+ * The Pyramid Plunder instance-lifecycle executor.<br><br>
+ * Every {@link Floor} build and teardown job is run on this executor, so the
+ * number of threads used by the minigame stays fixed no matter how many
+ * plunder runs are live. The executor has a fixed number of workers and a
+ * bounded work queue; jobs which do not fit in the queue are rejected and
+ * counted rather than spawning new threads.
+ * @author David
+ *
+ */
+public final class FloorExecutor
+{
+	/** The fixed number of worker threads building and destroying floors. */
+	private static final int WORKERS = 2;
+	/** The maximum number of floor jobs waiting for a worker. */
+	private static final int QUEUE_CAPACITY = 256;
+	/** The seconds the server's shutdown waits for queued floor jobs to drain. */
+	private static final int SHUTDOWN_TIMEOUT = 10;
+
+	/** The number of jobs rejected because the work queue was full or the executor was shut down. */
+	private static final AtomicLong REJECTED = new AtomicLong();
+
+	/** The backing worker pool. */
+	private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(WORKERS, WORKERS,
+			0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY), new FloorThreadFactory(),
+			(job, executor) ->
+			{
+				REJECTED.incrementAndGet();
+				throw new RejectedExecutionException("Pyramid Plunder floor job rejected "
+						+ (executor.isShutdown() ? "(executor shut down)." : "(queue full)."));
+			});
+
+	static
+	{
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> shutdown(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS),
+				"Pyramid Plunder Floor Executor Shutdown"));
+	}
+
+	private FloorExecutor() { }
+
+	/**
+	 * Runs a floor job on one of the executor workers.
+	 * @param job : the build or teardown job
+	 * @throws RejectedExecutionException if the work queue is full or the executor is shut down
+	 */
+	static void execute(Runnable job)
+	{
+		EXECUTOR.execute(job);
+	}
+
+	/**
+	 * Runs a floor job on one of the executor workers after the supplied delay.<br><br>
+	 * The delay is kept by the game core's scheduler, so a waiting job does not hold
+	 * a worker or a queue slot until it is due.
+	 * @param job : the build or teardown job
+	 * @param delay : the delay before the job is queued
+	 * @param unit : the unit of {@code delay}
+	 * @return a completion handle which completes when the job has run, or completes
+	 * 		exceptionally if the job threw or was rejected
+	 */
+	static CompletableFuture<Void> submitWithDelay(Runnable job, long delay, TimeUnit unit)
+	{
+		CompletableFuture<Void> completion = new CompletableFuture<>();
+		CoresManager.getServiceProvider().executeWithDelay(() ->
+		{
+			try
+			{
+				execute(() -> 
+				{
+					try
+					{
+						job.run();
+						completion.complete(null);
+					}
+					catch(Throwable t)
+					{
+						completion.completeExceptionally(t);
+					}
+				});
+			}
+			catch(RejectedExecutionException e)
+			{
+				completion.completeExceptionally(e);
+			}
+		}, delay, unit);
+		return completion;
+	}
+
+	/**
+	 * Stops accepting new floor jobs and waits for queued jobs to finish.<br><br>
+	 * Called by a shutdown hook when the server stops, so queued teardowns drain
+	 * before the JVM exits. Calling it again has no further effect.
+	 * @param timeout : the maximum time to wait for queued jobs
+	 * @param unit : the unit of {@code timeout}
+	 */
+	public static void shutdown(long timeout, TimeUnit unit)
+	{
+		EXECUTOR.shutdown();
+		try
+		{
+			if(!EXECUTOR.awaitTermination(timeout, unit))
+			{
+				Logger.log(Logger.DEBUG, "Pyramid Plunder floor executor did not terminate, "
+						+ EXECUTOR.shutdownNow().size() + " floor jobs dropped.");
+			}
+		}
+		catch(InterruptedException e)
+		{
+			EXECUTOR.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Accessor method to retrieve the number of rejected floor jobs.
+	 * @return the rejected job count since startup
+	 */
+	public static long getRejectedCount()
+	{
+		return REJECTED.get();
+	}
+
+	/**
+	 * Accessor method to retrieve the number of floor jobs waiting for a worker.
+	 * @return the current queue size
+	 */
+	public static int getQueuedCount()
+	{
+		return EXECUTOR.getQueue().size();
+	}
+
+	/**
+	 * Accessor method to retrieve the number of finished floor jobs.
+	 * @return the completed job count since startup
+	 */
+	public static long getCompletedCount()
+	{
+		return EXECUTOR.getCompletedTaskCount();
+	}
+
+	/**
+	 * Names the floor worker threads, and marks them as daemon threads so they
+	 * never keep the JVM alive on their own; the shutdown hook drains them instead.
+	 * @author David
+	 *
+	 */
+	private static final class FloorThreadFactory implements ThreadFactory
+	{
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "Pyramid Plunder Floor Worker-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -1,15 +1,18 @@
 package com.rs.game.minigames.pyramidplunder;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import com.rs.game.Animation;
 import com.rs.game.Hit;
 import com.rs.game.World;
 import com.rs.game.WorldObject;
+import com.rs.game.instance.InstanceRandom;
+import com.rs.game.instance.InstanceScheduler;
+import com.rs.game.instance.InstanceTask;
 import com.rs.game.Hit.HitLook;
 import com.rs.game.player.Player;
 import com.rs.game.player.Skills;
 import com.rs.game.player.content.FadingScreen;
-import com.rs.game.tasks.WorldTask;
-import com.rs.game.tasks.WorldTasksManager;
 
 /**
  * 
@@ -25,8 +28,21 @@ public class Game
 	private transient Player player;
 	/** The current {@link Floor} the player is on. */
 	private Floor currentFloor;
+	/** The next {@link Floor}, generated in the background while the player loots the current one. */
+	private Floor prefetchedFloor;
+	/** The random stream used for every roll in this {@code Game}. {@code transient} so as to avoid serializing issues. */
+	private transient InstanceRandom random;
+	/** The scheduler running every timed interaction in this {@code Game}. {@code transient} so as to avoid serializing issues. */
+	private transient InstanceScheduler scheduler;
 	/** The number of attempts the player has made to move on to the next floor. */
 	private byte doorAttempts;
+	/** Whether an interaction in progress has locked the player. {@code transient} so as to avoid serializing issues. */
+	private transient boolean locked;
+	
+	/** The number of floor changes which swapped in a ready, prefetched floor. */
+	private static final AtomicLong PREFETCH_HITS = new AtomicLong();
+	/** The number of floor changes which had to wait on the floor map being generated. */
+	private static final AtomicLong PREFETCH_MISSES = new AtomicLong();
 	
 	/* 
 	 * Animation and WorldObject ids
@@ -46,16 +62,6 @@ public class Game
 	
 	private static final int SEARCH_CHEST = 4238;
 	
-	private static final int SEARCHED_URN1 = 16505;
-	private static final int SEARCHED_URN2 = 16506;
-	private static final int SEARCHED_URN3 = 16507;
-	
-	private static final int SNAKE_URN1 = 16509;
-	private static final int SNAKE_URN2 = 16510;
-	private static final int SNAKE_URN3 = 16511;
-	
-	private static final int OPEN_CHEST = 16474;
-	
 	private static final int DEAD_END = 16460;
 	
 	/**
@@ -66,7 +72,29 @@ public class Game
 	public Game(Player player)
 	{
 		this.player = player;
+		final String label = "Pyramid Plunder game of " + player.getDisplayName();
+		this.random = InstanceRandom.create(label);
+		this.scheduler = InstanceScheduler.create(label);
 		currentFloor = new Floor(this.player, PPFloors.FLOOR_1);
+		prefetchNextFloor();
+	}
+	
+	/**
+	 * Accessor method to retrieve the number of floor changes served by a ready, prefetched floor.
+	 * @return the prefetch hit count since startup
+	 */
+	public static long getPrefetchHits()
+	{
+		return PREFETCH_HITS.get();
+	}
+	
+	/**
+	 * Accessor method to retrieve the number of floor changes which had to wait on map generation.
+	 * @return the prefetch miss count since startup
+	 */
+	public static long getPrefetchMisses()
+	{
+		return PREFETCH_MISSES.get();
 	}
 	
 	/**
@@ -93,44 +121,30 @@ public class Game
 	 */
 	public boolean processObjectInteraction(WorldObject object)
 	{
-		if(object.getDefinitions().name.equals("Tomb Door"))
-			leavePyramid(player);
-		else if(object.getDefinitions().name.equals("Speartrap"))
-			passTrap(player, object);
-		else if(object.getId() == 16501 || 
-				object.getId() == 16518 || 
-				object.getId() == 16519 || 
-				object.getId() == 16520 || 
-				object.getId() == 16521 || 
-				object.getId() == 16522 || 
-				object.getId() == 16502 || 
-				object.getId() == 16523 || 
-				object.getId() == 16524 || 
-				object.getId() == 16525 || 
-				object.getId() == 16526 || 
-				object.getId() == 16527 || 
-				object.getId() == 16503 ||
-				object.getId() == 16528 ||
-				object.getId() == 16529 ||
-				object.getId() == 16530 ||
-				object.getId() == 16531 ||
-				object.getId() == 16532)
-			searchUrn(player, object);
-		else if(object.getId() == 16537)
-			searchChest(player, object);
-		else if(object.getId() == 16542 || 
-				object.getId() == 16540 || 
-				object.getId() == 16539 || 
-				object.getId() == 16541 )
-			openDoor(player, object);
-		else if(object.getId() == OPEN_CHEST || 
-				object.getId() == SNAKE_URN1 || 
-				object.getId() == SNAKE_URN2 || 
-				object.getId() == SNAKE_URN3 || 
-				object.getId() == SEARCHED_URN1 || 
-				object.getId() == SEARCHED_URN2 || 
-				object.getId() == SEARCHED_URN3 )
-			player.getPackets().sendGameMessage("You already searched that!");
+		PPObjects row = PPObjects.forObject(object);
+		if(row == null)
+			return false;
+		switch(row.getInteraction())
+		{
+			case LEAVE:
+				leavePyramid(player);
+				break;
+			case PASS_TRAP:
+				passTrap(player, object);
+				break;
+			case SEARCH_URN:
+				searchUrn(player, object);
+				break;
+			case SEARCH_CHEST:
+				searchChest(player, object);
+				break;
+			case OPEN_DOOR:
+				openDoor(player, object);
+				break;
+			case ALREADY_SEARCHED:
+				player.getPackets().sendGameMessage("You already searched that!");
+				break;
+		}
 
 		return false;
 	}
@@ -151,7 +165,7 @@ public class Game
 	 */
 	private void passTrap(Player player, WorldObject trap)
 	{
-		WorldTasksManager.schedule(new WorldTask(){
+		scheduler.schedule(new InstanceTask() {
 
 			int loop = 0;
 			boolean success = false;
@@ -161,6 +175,7 @@ public class Game
 
 				if(loop == 0) {
 					player.lock();
+					locked = true;
 					player.getPackets().sendGameMessage("You attempt to sneak past the trap...");
 					player.setNextAnimation(new Animation(PASS_TRAP));
 				} else if(loop == 1) {
@@ -196,6 +211,7 @@ public class Game
 					}
 
 					player.unlock();
+					locked = false;
 					stop();
 				}
 				loop++;
@@ -205,43 +221,14 @@ public class Game
 	}
 	
 	/**
-	 * Checks if the player can continue to the next floor, and handles that interaction.
+	 * Checks if the player can continue to the next floor, and handles that interaction.<br><br>
+	 * If the next floor was prefetched, it is swapped in behind the fade instead of
+	 * being generated while the screen is black.
 	 * @param player
 	 */
 	private void changeFloor(Player player)
 	{
-		PPFloors nextFloor = null;
-		boolean canAdvance = false;
-		switch(currentFloor.getFloorPlan())
-		{
-			case FLOOR_1:
-				nextFloor = PPFloors.FLOOR_2;
-				break;
-			case FLOOR_2:
-				nextFloor = PPFloors.FLOOR_3;
-				break;
-			case FLOOR_3:
-				nextFloor = PPFloors.FLOOR_4;
-				break;
-			case FLOOR_4:
-				nextFloor = PPFloors.FLOOR_5;
-				break;
-			case FLOOR_5:
-				nextFloor = PPFloors.FLOOR_6;
-				break;
-			case FLOOR_6:
-				nextFloor = PPFloors.FLOOR_7;
-				break;
-			case FLOOR_7:
-				nextFloor = PPFloors.FLOOR_8;
-				break;
-			default:
-				break;
-		}
-		
-		if(nextFloor != null)
-			if(player.getSkills().getLevel(Skills.THIEVING) >= nextFloor.getLevelRequired())
-				canAdvance = true;
+		PPFloors nextFloor = currentFloor.getFloorPlan().next();
 		
 		if(nextFloor == null)
 		{
@@ -249,7 +236,7 @@ public class Game
 			return;
 		}
 		
-		if(!canAdvance)
+		if(player.getSkills().getLevel(Skills.THIEVING) < nextFloor.getLevelRequired())
 			return;
 			
 		FadingScreen.fade(player, new Runnable(){
@@ -259,44 +246,75 @@ public class Game
 			public void run() {
 				
 				currentFloor.destroyFloor(currentFloor.getFloorPlan());
-				switch(currentFloor.getFloorPlan())
+				if(prefetchedFloor != null && prefetchedFloor.getFloorPlan() == nextFloor)
+				{
+					if(prefetchedFloor.isReady())
+						PREFETCH_HITS.incrementAndGet();
+					else
+						PREFETCH_MISSES.incrementAndGet();
+					currentFloor = prefetchedFloor;
+					prefetchedFloor = null;
+					currentFloor.enter();
+				}
+				else
 				{
-					case FLOOR_1:
-						currentFloor = new Floor(player, PPFloors.FLOOR_2);
-						doorAttempts = 0;
-						break;
-					case FLOOR_2:
-						currentFloor = new Floor(player, PPFloors.FLOOR_3);
-						doorAttempts = 0;
-						break;
-					case FLOOR_3:
-						currentFloor = new Floor(player, PPFloors.FLOOR_4);
-						doorAttempts = 0;
-						break;
-					case FLOOR_4:
-						currentFloor = new Floor(player, PPFloors.FLOOR_5);
-						doorAttempts = 0;
-						break;
-					case FLOOR_5:
-						currentFloor = new Floor(player, PPFloors.FLOOR_6);
-						doorAttempts = 0;
-						break;
-					case FLOOR_6:
-						currentFloor = new Floor(player, PPFloors.FLOOR_7);
-						doorAttempts = 0;
-						break;
-					case FLOOR_7:
-						currentFloor = new Floor(player, PPFloors.FLOOR_8);
-						doorAttempts = 0;
-						break;
-					default:
-						break;
+					PREFETCH_MISSES.incrementAndGet();
+					releasePrefetchedFloor();
+					currentFloor = new Floor(player, nextFloor);
 				}
+				doorAttempts = 0;
+				prefetchNextFloor();
 			}
 			
 		});
 	}
 	
+	/**
+	 * Starts generating the floor after the current one in the background, if the
+	 * player's Thieving level is high enough to enter it.
+	 */
+	private void prefetchNextFloor()
+	{
+		PPFloors nextFloor = currentFloor.getFloorPlan().next();
+		if(nextFloor != null && player.getSkills().getLevel(Skills.THIEVING) >= nextFloor.getLevelRequired())
+			prefetchedFloor = Floor.prefetch(player, nextFloor);
+	}
+	
+	/**
+	 * Destroys the prefetched floor, if there is one.
+	 */
+	private void releasePrefetchedFloor()
+	{
+		if(prefetchedFloor != null)
+		{
+			prefetchedFloor.destroyFloor(prefetchedFloor.getFloorPlan());
+			prefetchedFloor = null;
+		}
+	}
+	
+	/**
+	 * Ends this {@code Game}, cancelling any interaction in progress and destroying
+	 * the current floor and any prefetched floor. An interaction cut off part way
+	 * never reaches its own {@code unlock()}, so the player is unlocked and its
+	 * animation and walk steps are reset here. Does nothing if the game has
+	 * already ended, since logging out, dying and leaving can each end it.
+	 */
+	void leave()
+	{
+		if(scheduler.isCancelled())
+			return;
+		scheduler.cancel();
+		if(locked)
+		{
+			player.unlock();
+			player.setNextAnimation(new Animation(-1));
+			player.resetWalkSteps();
+			locked = false;
+		}
+		currentFloor.destroyFloor(currentFloor.getFloorPlan());
+		releasePrefetchedFloor();
+	}
+	
 	/**
 	 * Activates a door attempt.<br><br>
 	 * If the attempt fails, the door disappears. If the attempt succeeds,
@@ -306,10 +324,10 @@ public class Game
 	 */
 	private void openDoor(Player player, WorldObject door)
 	{
-		if(Math.random() < 0.50 && doorAttempts < 2)
+		if(random.nextDouble() < 0.50 && doorAttempts < 2)
 		{
 			doorAttempts++;
-			WorldTasksManager.schedule(new WorldTask(){
+			scheduler.schedule(new InstanceTask() {
 
 				int loop = 0;
 				
@@ -318,12 +336,14 @@ public class Game
 
 					if(loop == 0) {
 						player.lock();
+						locked = true;
 						player.setNextAnimation(new Animation(PICK_LOCK));
 						player.getPackets().sendGameMessage("You attempt to pick the lock...");
 					} else if(loop == 1){
 						player.unlock();
+						locked = false;
 						player.getPackets().sendGameMessage("...and you realize that it leads to a dead end.");
-						World.spawnObject(new WorldObject(DEAD_END, 0, door.getRotation(), 
+						currentFloor.spawnObject(new WorldObject(DEAD_END, 0, door.getRotation(), 
 								door.getX(), door.getY(), door.getPlane()));
 						stop();
 					}
@@ -346,7 +366,7 @@ public class Game
 	 */
 	private void searchChest(Player player, WorldObject chest)
 	{
-		WorldTasksManager.schedule(new WorldTask() {
+		scheduler.schedule(new InstanceTask() {
 			
 			int loop = 0;
 			
@@ -355,17 +375,19 @@ public class Game
 
 				if (loop == 0) {
 					player.lock();
+					locked = true;
 					player.setNextAnimation(new Animation(SEARCH_CHEST));
 					player.getPackets().sendGameMessage("You search the chest for treasures...");
 					spawnNewChest(chest);
 				} else if (loop == 1) {
 					if(calculateSuccess(player)) {
 						player.getPackets().sendGameMessage("You find some treasure in the chest!");
-						Reward.giveReward(player, Reward.ChestRewards.values());
+						Reward.giveReward(player, Reward.CHEST_TABLE, random);
 					} else {
 						player.getPackets().sendGameMessage("...but you find nothing.");
 					}
 					player.unlock();
+					locked = false;
 					stop();
 				} 
 				loop++;
@@ -381,7 +403,7 @@ public class Game
 	 */
 	private void searchUrn(Player player, WorldObject urn)
 	{
-		WorldTasksManager.schedule(new WorldTask() {
+		scheduler.schedule(new InstanceTask() {
 			
 			int loop = 0;
 			boolean success = false;
@@ -391,6 +413,7 @@ public class Game
 
 				if (loop == 0) {
 					player.lock();
+					locked = true;
 					player.setNextAnimation(new Animation(URNSEARCH_START));
 					player.getPackets().sendGameMessage("You search the urn for treasures...");
 				} else if (loop == 1) {
@@ -409,8 +432,9 @@ public class Game
 					}
 				} else if (loop == 2) {
 					if(success)
-						Reward.giveReward(player, Reward.UrnRewards.values());
+						Reward.giveReward(player, Reward.URN_TABLE, random);
 					player.unlock();
+					locked = false;
 					stop();
 				}
 				loop++;
@@ -437,7 +461,7 @@ public class Game
 			chance+=0.1;
 		if(expertise > 9)
 			chance+=0.2;
-		if(Math.random() < chance)
+		if(random.nextDouble() < chance)
 			return true;
 		return false;
 	}
@@ -448,7 +472,7 @@ public class Game
 	 */
 	private void spawnNewChest(WorldObject chest)
 	{
-		World.spawnObject(new WorldObject(OPEN_CHEST, 
+		currentFloor.spawnObject(new WorldObject(PPObjects.CHEST.getSearchedId(), 
 				10, chest.getRotation(), chest.getX(), 
 				chest.getY(), chest.getPlane()));
 	}
@@ -459,38 +483,9 @@ public class Game
 	 */
 	private void spawnNewUrn(WorldObject urn, boolean fail)
 	{
-		if(	urn.getId() == 16501 || 
-			urn.getId() == 16518 || 
-			urn.getId() == 16519 || 
-			urn.getId() == 16520 || 
-			urn.getId() == 16521 || 
-			urn.getId() == 16522 )
-		{
-			World.spawnObject(new WorldObject(fail ? SNAKE_URN1 : SEARCHED_URN1, 
-					10, urn.getRotation(), urn.getX(), 
-					urn.getY(), urn.getPlane()));
-		}
-		else if(urn.getId() == 16502 || 
-				urn.getId() == 16523 || 
-				urn.getId() == 16524 || 
-				urn.getId() == 16525 || 
-				urn.getId() == 16526 || 
-				urn.getId() == 16527 )
-		{
-			World.spawnObject(new WorldObject(fail ? SNAKE_URN2 : SEARCHED_URN2, 
-					10, urn.getRotation(), urn.getX(), 
-					urn.getY(), urn.getPlane()));
-		}
-		else if(urn.getId() == 16503 || 
-				urn.getId() == 16528 || 
-				urn.getId() == 16529 || 
-				urn.getId() == 16530 || 
-				urn.getId() == 16531 || 
-				urn.getId() == 16532 )
-		{
-			World.spawnObject(new WorldObject(fail ? SNAKE_URN3 : SEARCHED_URN3, 
-					10, urn.getRotation(), urn.getX(), 
-					urn.getY(), urn.getPlane()));
-		}
+		PPObjects row = PPObjects.forId(urn.getId());
+		currentFloor.spawnObject(new WorldObject(fail ? row.getSnakeId() : row.getSearchedId(), 
+				10, urn.getRotation(), urn.getX(), 
+				urn.getY(), urn.getPlane()));
 	}
 }
@@ -25,7 +25,7 @@ public class LeavePyramidD extends Dialogue
 			{
 				player.getControlerManager().getControler().removeControler();
 				player.setNextWorldTile(Settings.HOME_LOCATION);
-				game.getCurrentFloor().destroyFloor(game.getCurrentFloor().getFloorPlan());
+				game.leave();
 				end();
 
 			}
@@ -1,5 +1,6 @@
 package com.rs.game.minigames.pyramidplunder;
 
+import com.rs.Settings;
 import com.rs.game.WorldObject;
 import com.rs.game.WorldTile;
 import com.rs.game.player.controlers.Controller;
@@ -36,10 +37,33 @@ public class PPController extends Controller
 	@Override
 	public boolean processMagicTeleport(WorldTile toTile) 
 	{
+		game.leave();
 		removeControler();
 		return true;
 	}
 	
+	@Override
+	public boolean logout()
+	{
+		player.setLocation(Settings.HOME_LOCATION);
+		game.leave();
+		return true;
+	}
+	
+	@Override
+	public boolean sendDeath()
+	{
+		game.leave();
+		removeControler();
+		return true;
+	}
+	
+	@Override
+	public void forceClose()
+	{
+		game.leave();
+	}
+	
 	@Override
 	public boolean checkWalkStep(int lastX, int lastY, int nextX, int nextY)
 	{
@@ -53,5 +53,13 @@ enum PPFloors
 		this.dimension = Math.abs(northWestChunks[0] - southEastChunks[0]);
 		return dimension;
 	}
+	/**
+	 * The floor following this one.
+	 * @return the next floor, or {@code null} if this is the highest floor
+	 */
+	public PPFloors next()
+	{
+		return ordinal() + 1 < values().length ? values()[ordinal() + 1] : null;
+	}
 }
 
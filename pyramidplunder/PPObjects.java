@@ -0,0 +1,101 @@
+package com.rs.game.minigames.pyramidplunder;
+
+import com.rs.game.WorldObject;
+
+/**
+ * Enumeration of all the Pyramid Plunder objects a player can interact with.
+ * Each row maps a set of object ids to the interaction they trigger, along with
+ * 		the searched and snake variants an urn or chest is replaced with once looted.
+ * The rows are indexed by object id once, so finding the row for a clicked object
+ * 		is a single array lookup.
+ * @author David
+ *
+ */
+enum PPObjects
+{
+	TOMB_DOOR(Interaction.LEAVE, -1, -1, 16458),
+	SPEARTRAP(Interaction.PASS_TRAP, -1, -1, 16517),
+
+	URN_1(Interaction.SEARCH_URN, 16505, 16509, 16501, 16518, 16519, 16520, 16521, 16522),
+	URN_2(Interaction.SEARCH_URN, 16506, 16510, 16502, 16523, 16524, 16525, 16526, 16527),
+	URN_3(Interaction.SEARCH_URN, 16507, 16511, 16503, 16528, 16529, 16530, 16531, 16532),
+	CHEST(Interaction.SEARCH_CHEST, 16474, -1, 16537),
+	DOOR(Interaction.OPEN_DOOR, -1, -1, 16539, 16540, 16541, 16542),
+	SEARCHED(Interaction.ALREADY_SEARCHED, -1, -1, 16474, 16505, 16506, 16507, 16509, 16510, 16511);
+
+	/**
+	 * What happens when the player clicks one of the objects in a row.
+	 */
+	enum Interaction
+	{
+		LEAVE, PASS_TRAP, SEARCH_URN, SEARCH_CHEST, OPEN_DOOR, ALREADY_SEARCHED
+	}
+
+	private Interaction interaction;
+	private int searchedId;
+	private int snakeId;
+	private int[] objectIds;
+
+	/** The lowest object id in the table. */
+	private static final int MIN_ID;
+	/** Rows indexed by {@code objectId - MIN_ID}. */
+	private static final PPObjects[] BY_ID;
+
+	static
+	{
+		int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+		for(PPObjects row : values())
+			for(int id : row.objectIds)
+			{
+				min = Math.min(min, id);
+				max = Math.max(max, id);
+			}
+		MIN_ID = min;
+		BY_ID = new PPObjects[max - min + 1];
+		for(PPObjects row : values())
+			for(int id : row.objectIds)
+				BY_ID[id - MIN_ID] = row;
+	}
+
+	private PPObjects(Interaction interaction, int searchedId, int snakeId, int... objectIds)
+	{
+		this.interaction = interaction;
+		this.searchedId = searchedId;
+		this.snakeId = snakeId;
+		this.objectIds = objectIds;
+	}
+
+	/**
+	 * Finds the row for an object.
+	 * @param object : the {@link WorldObject} being interacted with
+	 * @return the matching row, or {@code null} if the object is not part of the minigame
+	 */
+	static PPObjects forObject(WorldObject object)
+	{
+		return forId(object.getId());
+	}
+
+	/**
+	 * Finds the row for an object id.
+	 * @param objectId
+	 * @return the matching row, or {@code null} if the id is not in the table
+	 */
+	static PPObjects forId(int objectId)
+	{
+		int index = objectId - MIN_ID;
+		return index >= 0 && index < BY_ID.length ? BY_ID[index] : null;
+	}
+
+	public Interaction getInteraction()
+	{
+		return interaction;
+	}
+	public int getSearchedId()
+	{
+		return searchedId;
+	}
+	public int getSnakeId()
+	{
+		return snakeId;
+	}
+}
@@ -1,13 +1,10 @@
 package com.rs.game.minigames.pyramidplunder;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
-import com.rs.game.World;
+import com.rs.game.instance.InstanceRandom;
 import com.rs.game.item.Item;
 import com.rs.game.player.Player;
-import com.rs.utils.Utils;
+import com.rs.utils.WeightedSampler;
+import com.rs.utils.WorldAnnouncer;
 
 /**
  * 
@@ -20,6 +17,10 @@ import com.rs.utils.Utils;
  */
 public final class Reward 
 {
+	/** The urn rewards, compiled once for constant time rolls. */
+	static final WeightedSampler<Rewards> URN_TABLE = new WeightedSampler<>(UrnRewards.values(), Rewards::getWeight);
+	/** The chest rewards, compiled once for constant time rolls. */
+	static final WeightedSampler<Rewards> CHEST_TABLE = new WeightedSampler<>(ChestRewards.values(), Rewards::getWeight);
 	
 	/**
 	 * 
@@ -31,6 +32,8 @@ public final class Reward
 	{
 		Item getItem();
 		int getWeight();
+		/** The announced description of the reward, or {@code null} if it is not rare enough to announce. */
+		String getAnnouncement();
 	}
 	
 	/**
@@ -48,15 +51,22 @@ public final class Reward
 		POTTERY_STATUETTE(new Item(9036,1), 75),
 		STONE_STATUETTE(new Item(9038,1), 50),
 		GOLDEN_STATUETTE(new Item(9034,1), 15),
-		JEWELLED_GOLDEN_STATUETTE(new Item(20661,1), 3);
+		JEWELLED_GOLDEN_STATUETTE(new Item(20661,1), 3, "a Jewelled Golden Statuette");
 
 		Item item; 
 		int weight;
+		String announcement;
 		
 		UrnRewards(Item item, int weight)
+		{
+			this(item, weight, null);
+		}
+		
+		UrnRewards(Item item, int weight, String announcement)
 		{
 			this.item = item;
 			this.weight = weight;
+			this.announcement = announcement;
 		}
 		
 		@Override
@@ -68,6 +78,11 @@ public final class Reward
 		public int getWeight() {
 			return weight;
 		}
+
+		@Override
+		public String getAnnouncement() {
+			return announcement;
+		}
 		
 	}
 	
@@ -86,18 +101,25 @@ public final class Reward
 		POTTERY_STATUETTE(new Item(9036,1), 75),
 		STONE_STATUETTE(new Item(9038,1), 50),
 		GOLDEN_STATUETTE(new Item(9034,1), 15),
-		JEWELLED_GOLDEN_STATUETTE(new Item(20661,1), 3),
-		COINS(new Item(995, 5000000), 1),
-		JEWELED_DIAMOND_STATUETTE(new Item(21570, 1), 1),
-		SCEPTRE(new Item(9050, 1), 1);
+		JEWELLED_GOLDEN_STATUETTE(new Item(20661,1), 3, "a Jewelled Golden Statuette"),
+		COINS(new Item(995, 5000000), 1, "5M coins"),
+		JEWELED_DIAMOND_STATUETTE(new Item(21570, 1), 1, "a Jewelled Diamond Statuette"),
+		SCEPTRE(new Item(9050, 1), 1, "the Pharaoh's Sceptre");
 		
 		Item item;
 		int weight;
+		String announcement;
 
 		ChestRewards(Item item, int weight)
+		{
+			this(item, weight, null);
+		}
+
+		ChestRewards(Item item, int weight, String announcement)
 		{
 			this.item = item;
 			this.weight = weight;
+			this.announcement = announcement;
 		}
 		
 		@Override
@@ -111,50 +133,30 @@ public final class Reward
 			// TODO Auto-generated method stub
 			return weight;
 		}
+
+		@Override
+		public String getAnnouncement() {
+			return announcement;
+		}
 		
 	}
 	
 	/**
 	 * Selects a reward from a weighted list of rewards and gives it to the player.
-	 * <br><br>Also sends a world message to all players if the reward is of high rarity.
+	 * <br><br>Also announces the reward to all players, through the {@link WorldAnnouncer}, if the reward is of high rarity.
 	 * @param player
-	 * @param values
+	 * @param table : the compiled reward table, {@link Reward#URN_TABLE} or {@link Reward#CHEST_TABLE}
+	 * @param random : the random stream of the player's {@link Game}
 	 */
-	protected static void giveReward(Player player, Rewards[] values)
+	protected static void giveReward(Player player, WeightedSampler<Rewards> table, InstanceRandom random)
 	{
-		List<Item> filler = new ArrayList<>();
-		
-		Item reward = null;
-		
-		for(Rewards _reward : values)
-		{
-			for(int i = 0; i < _reward.getWeight(); i++)
-			{
-				filler.add(_reward.getItem());
-			}
-		}
+		Rewards roll = table.next(random.getSource());
+		player.getInventory().addItem(roll.getItem());
 		
-		Collections.shuffle(filler);
-		
-		reward = filler.get(Utils.randomInt(0, filler.size() - 1));
-		player.getInventory().addItem(reward);
-		
-		if(reward.getId() == UrnRewards.JEWELLED_GOLDEN_STATUETTE.getItem().getId())
-			World.sendWorldMessage("<col=ffffff>[<col><col=bf00ff>Announcement</col><col=ffffff>]</col>: "
-					+ "<col=ffffff>" + player.getDisplayName() +"<col=ffffff> "
-							+ "just looted a Jewelled Golden Statuette from Pyramid Plunder!<col>", false);
-		else if(reward.getId() == ChestRewards.SCEPTRE.getItem().getId())
-			World.sendWorldMessage("<col=ffffff>[<col><col=bf00ff>Announcement</col><col=ffffff>]</col>: "
-					+ "<col=ffffff>" + player.getDisplayName() +"<col=ffffff> "
-							+ "just looted the Pharaoh's Sceptre from Pyramid Plunder!<col>", false);
-		else if(reward.getId() == ChestRewards.COINS.getItem().getId())
-			World.sendWorldMessage("<col=ffffff>[<col><col=bf00ff>Announcement</col><col=ffffff>]</col>: "
-					+ "<col=ffffff>" + player.getDisplayName() +"<col=ffffff> "
-							+ "just looted 5M coins from Pyramid Plunder!<col>", false);
-		else if(reward.getId() == ChestRewards.JEWELED_DIAMOND_STATUETTE.getItem().getId())
-			World.sendWorldMessage("<col=ffffff>[<col><col=bf00ff>Announcement</col><col=ffffff>]</col>: "
+		if(roll.getAnnouncement() != null)
+			WorldAnnouncer.publish("<col=ffffff>[<col><col=bf00ff>Announcement</col><col=ffffff>]</col>: "
 					+ "<col=ffffff>" + player.getDisplayName() +"<col=ffffff> "
-							+ "just looted a Jewelled Diamond Statuette from Pyramid Plunder!<col>", false);
+							+ "just looted " + roll.getAnnouncement() + " from Pyramid Plunder!<col>");
 	}
 
 }
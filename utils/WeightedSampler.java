@@ -0,0 +1,155 @@
+package com.rs.utils;
+
+import java.util.SplittableRandom;
+import java.util.function.ToIntFunction;
+
+/**
+ * Draws entries from a weighted table using Vose's alias method.<br/><br/>
+ * The table is compiled once into a probability column and an alias column, after which
+ * every draw costs one uniform random number, one array lookup and one comparison,
+ * regardless of how many entries or how much total weight the table has, and allocates
+ * nothing. This replaces expanding a table into a list with one element per unit of weight
+ * and shuffling it on every roll.
+ * @param <T> the type of the table entries
+ * @author David O'Neill (dlo3)
+ */
+public final class WeightedSampler<T> {
+
+    private final T[] values;
+    private final double[] probability;
+    private final int[] alias;
+    /** The number of entries with a non-zero weight, which are the only ones ever drawn. */
+    private final int weighted;
+
+    /**
+     * Compiles a weighted table.
+     * @param values the table entries; the array is kept, not copied
+     * @param weight the weight of each entry, which must not be negative
+     */
+    public WeightedSampler(T[] values, ToIntFunction<? super T> weight) {
+        final int n = values.length;
+        if(n == 0)
+            throw new IllegalArgumentException("Cannot sample from an empty table.");
+        this.values = values;
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        long total = 0;
+        int nonZero = 0;
+        for(T value : values) {
+            int w = weight.applyAsInt(value);
+            if(w < 0)
+                throw new IllegalArgumentException("Negative weight " + w + " for " + value + ".");
+            if(w > 0)
+                nonZero++;
+            total += w;
+        }
+        this.weighted = nonZero;
+        if(total == 0)
+            throw new IllegalArgumentException("Cannot sample from a table with no weight.");
+
+        final double[] scaled = new double[n];
+        final int[] small = new int[n];
+        final int[] large = new int[n];
+        int smallCount = 0, largeCount = 0;
+        for(int i = 0; i < n; i++) {
+            scaled[i] = (double) weight.applyAsInt(values[i]) * n / total;
+            if(scaled[i] < 1.0)
+                small[smallCount++] = i;
+            else
+                large[largeCount++] = i;
+        }
+        while(smallCount > 0 && largeCount > 0) {
+            final int less = small[--smallCount];
+            final int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if(scaled[more] < 1.0)
+                small[smallCount++] = more;
+            else
+                large[largeCount++] = more;
+        }
+        while(largeCount > 0)
+            probability[large[--largeCount]] = 1.0;
+        while(smallCount > 0)
+            probability[small[--smallCount]] = 1.0;
+    }
+
+    /**
+     * Draws the index of an entry from a single uniform value. The integer part of
+     * {@code u * size()} picks a column and the fractional part decides between the
+     * column and its alias.
+     * @param u a uniform random value in [0, 1)
+     * @return the index of the drawn entry
+     */
+    public int sample(double u) {
+        final double scaled = u * probability.length;
+        final int column = Math.min((int) scaled, probability.length - 1);
+        return scaled - column < probability[column] ? column : alias[column];
+    }
+
+    /**
+     * Draws the index of an entry.
+     * @param random the random source
+     * @return the index of the drawn entry
+     */
+    public int sample(SplittableRandom random) {
+        return sample(random.nextDouble());
+    }
+
+    /**
+     * Draws an entry.
+     * @param random the random source
+     * @return the drawn entry
+     */
+    public T next(SplittableRandom random) {
+        return values[sample(random)];
+    }
+
+    /**
+     * Draws {@code count} distinct entry indices without replacement into {@code out}.
+     * Repeated draws are rejected and redrawn, which gives the same distribution as
+     * drawing from the table and removing each drawn entry before the next draw. This is
+     * meant for drawing a few entries from a larger table; {@code count} must not exceed
+     * the number of entries with a non-zero weight.
+     * @param random the random source
+     * @param out the array to write the drawn indices to
+     * @param count the number of distinct indices to draw
+     */
+    public void sampleDistinct(SplittableRandom random, int[] out, int count) {
+        if(count > weighted)
+            throw new IllegalArgumentException("Cannot draw " + count + " distinct entries from "
+                    + weighted + " with a non-zero weight.");
+        for(int drawn = 0; drawn < count; ) {
+            final int index = sample(random);
+            if(!contains(out, drawn, index))
+                out[drawn++] = index;
+        }
+    }
+
+    private static boolean contains(int[] indices, int length, int index) {
+        for(int i = 0; i < length; i++) {
+            if(indices[i] == index)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Accessor to an entry of the table.
+     * @param index the entry index, as returned by {@link #sample(SplittableRandom)}
+     * @return the entry
+     */
+    public T get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Accessor to the number of entries in the table.
+     * @return the table size
+     */
+    public int size() {
+        return values.length;
+    }
+}
@@ -0,0 +1,123 @@
+package com.rs.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.rs.game.World;
+import com.rs.game.tasks.WorldTask;
+import com.rs.game.tasks.WorldTasksManager;
+
+/**
+ * A rate-limited broadcaster for world announcements, such as rare drops.<br/><br/>
+ * Content publishes announcements from whichever thread it runs on, and they are
+ * queued instead of being sent to every player right away. Once per game tick, up to
+ * {@link #BUDGET} announcements are sent, so a tick with several rare drops is spread
+ * over the following ticks instead of spiking. Identical announcements waiting in the
+ * queue are coalesced into one, and the queue is bounded: announcements beyond
+ * {@link #CAPACITY} are dropped and counted.
+ * @author David O'Neill (dlo3)
+ */
+public final class WorldAnnouncer {
+
+    /** The most announcements sent in a single tick. */
+    public static final int BUDGET = 2;
+    /** The most announcements waiting to be sent. */
+    public static final int CAPACITY = 128;
+
+    private static final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+    /** Repeat counts of queued announcements, for coalescing. */
+    private static final Map<String, Integer> pending = new ConcurrentHashMap<>();
+    private static final AtomicInteger size = new AtomicInteger();
+    private static final AtomicBoolean started = new AtomicBoolean();
+
+    private static final AtomicLong sent = new AtomicLong();
+    private static final AtomicLong coalesced = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+
+    private WorldAnnouncer() { }
+
+    /**
+     * Queues an announcement to be sent to every player within the next few ticks.
+     * @param message the announcement
+     * @return {@code false} if the queue was full and the announcement was dropped
+     */
+    public static boolean publish(String message) {
+        start();
+        if(pending.merge(message, 1, Integer::sum) > 1) {
+            coalesced.incrementAndGet();
+            return true;
+        }
+        if(size.incrementAndGet() > CAPACITY) {
+            size.decrementAndGet();
+            pending.remove(message);
+            dropped.incrementAndGet();
+            return false;
+        }
+        queue.offer(message);
+        return true;
+    }
+
+    /**
+     * Starts draining the queue on the game tick, if it has not been started yet.
+     */
+    private static void start() {
+        if(started.get() || !started.compareAndSet(false, true))
+            return;
+        WorldTasksManager.schedule(new WorldTask() {
+            @Override
+            public void run() {
+                drain();
+            }
+        }, 0, 0);
+    }
+
+    /**
+     * Sends up to {@link #BUDGET} queued announcements.
+     */
+    private static void drain() {
+        String message;
+        for(int i = 0; i < BUDGET && (message = queue.poll()) != null; i++) {
+            size.decrementAndGet();
+            final Integer repeats = pending.remove(message);
+            final int count = repeats == null ? 1 : repeats;
+            World.sendWorldMessage(count > 1 ? message + " (x" + count + ")" : message, false);
+            sent.incrementAndGet();
+        }
+    }
+
+    /**
+     * Accessor to the number of announcements waiting to be sent.
+     * @return the queue size
+     */
+    public static int getQueuedCount() {
+        return size.get();
+    }
+
+    /**
+     * Accessor to the number of announcements sent since startup.
+     * @return the sent count
+     */
+    public static long getSentCount() {
+        return sent.get();
+    }
+
+    /**
+     * Accessor to the number of announcements merged into an identical queued one.
+     * @return the coalesced count
+     */
+    public static long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Accessor to the number of announcements dropped because the queue was full.
+     * @return the dropped count
+     */
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+}